@@ -0,0 +1,18 @@
+package com.example.demo.config;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a read-only service method whose reads may be served by the replica. Only methods that tolerate
+ * replication lag should carry it; every other transaction, read-only or not, stays on the primary.
+ * Has no effect inside a read-write transaction or when no replica is configured.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface ReplicaRead {
+}
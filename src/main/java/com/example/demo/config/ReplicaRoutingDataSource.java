@@ -0,0 +1,50 @@
+package com.example.demo.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Sends connections to the replica only for read-only transactions opened by a {@link ReplicaRead} method;
+ * everything else, including read-only transactions inherited from Spring Data defaults, goes to the primary.
+ * The decision is made when a connection is fetched, so this must sit behind a LazyConnectionDataSourceProxy:
+ * transaction managers fetch the connection before the read-only flag is bound to the thread.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    public enum Route {
+        PRIMARY,
+        REPLICA
+    }
+
+    private static final ThreadLocal<Boolean> REPLICA_READ = ThreadLocal.withInitial(() -> false);
+
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica) {
+        setTargetDataSources(Map.of(Route.PRIMARY, primary, Route.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    /**
+     * Mark or unmark the current thread as running a replica read; returns the previous mark so callers can restore it.
+     */
+    public static boolean markReplicaRead(boolean replicaRead) {
+        boolean previous = REPLICA_READ.get();
+        REPLICA_READ.set(replicaRead);
+        return previous;
+    }
+
+    /**
+     * Whether the current thread would be routed to the replica.
+     */
+    public static boolean isReplicaRoute() {
+        return REPLICA_READ.get() && TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return isReplicaRoute() ? Route.REPLICA : Route.PRIMARY;
+    }
+}
@@ -2,18 +2,22 @@ package com.example.demo.config;
 
 import com.example.demo.exceptions.CustomAccessDeniedHandler;
 import com.example.demo.services.MyUserDetailsService;
+import com.example.demo.utils.AdaptiveBCryptPasswordEncoder;
 import com.example.demo.utils.JwtRequestFilter;
+import com.example.demo.utils.RateLimitFilter;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.config.annotation.authentication.builders.AuthenticationManagerBuilder;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
+import java.time.Duration;
+
 @Configuration
 public class SecurityConfig {
 
@@ -23,8 +27,24 @@ public class SecurityConfig {
     @Autowired
     private JwtRequestFilter jwtRequestFilter; // Custom JWT filter for processing tokens
 
+    @Autowired
+    private RateLimitFilter rateLimitFilter; // Rejects over-quota requests before any authentication work
+
+    @Value("${security.bcrypt.target-latency:50ms}")
+    private Duration bcryptTargetLatency;
+
+    @Value("${security.bcrypt.min-strength:10}")
+    private int bcryptMinStrength;
+
+    @Value("${security.bcrypt.max-strength:14}")
+    private int bcryptMaxStrength;
+
+    @Value("${security.bcrypt.strength:0}")
+    private int bcryptStrength; // 0 = calibrate at startup
+
     @Bean
     public AuthenticationManager authManager(HttpSecurity http) throws Exception {
+        // MyUserDetailsService is also a UserDetailsPasswordService, so hashes are re-encoded on login
         return http.getSharedObject(AuthenticationManagerBuilder.class)
                 .userDetailsService(userDetailsService)
                 .passwordEncoder(passwordEncoder())
@@ -42,14 +62,19 @@ public class SecurityConfig {
                         "/swagger-ui.html"
                 ).permitAll()
                 .requestMatchers("/auth/**").permitAll()
+                .requestMatchers("/actuator/health").permitAll()
+                .requestMatchers("/actuator/**").hasRole("ADMIN")
                 .requestMatchers("/tasks/assigned", "/tasks/*/comments", "/tasks/*/status/user").hasRole("USER")
+                .requestMatchers("/tasks/batch").hasAnyRole("USER", "ADMIN")
                 .requestMatchers("/tasks/**").hasRole("ADMIN")
+                .requestMatchers("/users/**").hasRole("ADMIN")
                 .anyRequest().authenticated()
                 .and()
                 .exceptionHandling()
                 .accessDeniedHandler(new CustomAccessDeniedHandler()) // Register custom handler
                 .and()
-                .addFilterBefore(jwtRequestFilter, UsernamePasswordAuthenticationFilter.class);
+                .addFilterBefore(jwtRequestFilter, UsernamePasswordAuthenticationFilter.class)
+                .addFilterBefore(rateLimitFilter, JwtRequestFilter.class);
 
         return http.build();
     }
@@ -57,6 +82,11 @@ public class SecurityConfig {
 
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        // A configured strength keeps every node on the same cost
+        if (bcryptStrength > 0) {
+            return new AdaptiveBCryptPasswordEncoder(bcryptStrength, bcryptMinStrength);
+        }
+        // Otherwise the work factor is chosen at startup to hit the target hash latency on this node
+        return AdaptiveBCryptPasswordEncoder.calibrate(bcryptTargetLatency, bcryptMinStrength, bcryptMaxStrength);
     }
 }
@@ -4,28 +4,50 @@ import com.example.demo.entities.Role;
 import com.example.demo.entities.User;
 import com.example.demo.exceptions.*;
 import com.example.demo.repositories.UserRepository;
+import com.example.demo.services.CustomUserDetails;
+import com.example.demo.services.MyUserDetailsService;
+import com.example.demo.services.PasswordHashingService;
+import com.example.demo.services.RefreshTokenService;
+import com.example.demo.services.TokenRevocationService;
 import com.example.demo.utils.JwtUtil;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 import com.example.demo.dto.*;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
-import io.swagger.v3.oas.annotations.parameters.RequestBody;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import jakarta.validation.Valid;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.concurrent.CompletableFuture;
+
 @RestController
 @RequestMapping("/auth")
 @Tag(name = "Authentication Controller", description = "Endpoints for user authentication and registration.")
 public class AuthController {
 
+    // Name PostgreSQL gives the inline UNIQUE on users.email, and the SQLSTATE of any unique violation
+    private static final String EMAIL_UNIQUE_CONSTRAINT = "users_email_key";
+    private static final String UNIQUE_VIOLATION = "23505";
+
     @Autowired
     private AuthenticationManager authManager;
 
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+
     @Autowired
     private JwtUtil jwtUtil;
 
@@ -35,17 +57,23 @@ public class AuthController {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private MyUserDetailsService userDetailsService;
+
+    @Autowired
+    private PasswordHashingService passwordHashingService;
+
     /**
      * Endpoint for logging in a user.
      *
      * @param request LoginRequestDTO containing email and password.
-     * @return Bearer token as a string if authentication is successful.
+     * @return Short-lived access token and a refresh token if authentication is successful.
      */
     @PostMapping("/login")
     @Operation(
             summary = "Log in a user",
-            description = "Authenticates a user and returns a JWT token for subsequent API calls.",
-            requestBody = @RequestBody(
+            description = "Authenticates a user and returns a short-lived JWT access token plus a refresh token for /auth/refresh.",
+            requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(
                     description = "User credentials for login",
                     required = true,
                     content = @Content(
@@ -54,32 +82,103 @@ public class AuthController {
             ),
             responses = {
                     @ApiResponse(responseCode = "200", description = "Login successful",
-                            content = @Content(schema = @Schema(example = "Bearer <JWT_TOKEN>"))),
+                            content = @Content(schema = @Schema(implementation = TokenResponseDTO.class))),
                     @ApiResponse(responseCode = "401", description = "Invalid email or password",
                             content = @Content(schema = @Schema(implementation = ErrorResponseDTO.class))),
-                    @ApiResponse(responseCode = "404", description = "User not found",
+                    @ApiResponse(responseCode = "503", description = "Too many concurrent authentication requests",
                             content = @Content(schema = @Schema(implementation = ErrorResponseDTO.class)))
             }
     )
-    public String login(@RequestBody LoginRequestDTO request) {
-        try {
-            // Authenticate the user
-            authManager.authenticate(
-                    new UsernamePasswordAuthenticationToken(request.getEmail(), request.getPassword())
-            );
-        } catch (Exception e) {
-            throw new AuthenticationException("Invalid email or password");
+    public CompletableFuture<TokenResponseDTO> login(@RequestBody LoginRequestDTO request) {
+        // BCrypt verification runs on the password hashing pool, not on the request thread
+        return passwordHashingService.submit(() -> {
+            Authentication authentication;
+            try {
+                // Authenticate the user
+                authentication = authManager.authenticate(
+                        new UsernamePasswordAuthenticationToken(request.getEmail(), request.getPassword())
+                );
+            } catch (Exception e) {
+                throw new AuthenticationException("Invalid email or password");
+            }
+
+            // The authenticated principal already holds the user loaded by the AuthenticationManager
+            User user = ((CustomUserDetails) authentication.getPrincipal()).toUser();
+
+            // Generate the access and refresh tokens
+            return refreshTokenService.issueTokens(user);
+        });
+    }
+
+    /**
+     * Endpoint for exchanging a refresh token for a new token pair.
+     *
+     * @param request RefreshRequestDTO containing the refresh token.
+     * @return New access token and a new refresh token; the presented one can no longer be used.
+     */
+    @PostMapping("/refresh")
+    @Operation(
+            summary = "Refresh the access token",
+            description = "Rotates the refresh token and issues a new access token without checking the password.",
+            requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                    description = "Refresh token received from login or a previous refresh",
+                    required = true,
+                    content = @Content(
+                            schema = @Schema(implementation = RefreshRequestDTO.class)
+                    )
+            ),
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Tokens refreshed",
+                            content = @Content(schema = @Schema(implementation = TokenResponseDTO.class))),
+                    @ApiResponse(responseCode = "401", description = "Invalid or expired refresh token",
+                            content = @Content(schema = @Schema(implementation = ErrorResponseDTO.class)))
+            }
+    )
+    public TokenResponseDTO refresh(@RequestBody @Valid RefreshRequestDTO request) {
+        return refreshTokenService.refresh(request.getRefreshToken());
+    }
+
+    /**
+     * Endpoint for logging out: revokes the presented access token and, if given, the refresh token.
+     *
+     * @param authorizationHeader Bearer access token to revoke.
+     * @param request Optional RefreshRequestDTO with the refresh token to invalidate.
+     * @return Confirmation message.
+     */
+    @PostMapping("/logout")
+    @Operation(
+            summary = "Log out",
+            description = "Revokes the current access token before it expires and invalidates the refresh token if provided.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Logout successful",
+                            content = @Content(schema = @Schema(example = "Logged out successfully!"))),
+                    @ApiResponse(responseCode = "401", description = "Missing or invalid access token",
+                            content = @Content(schema = @Schema(implementation = ErrorResponseDTO.class)))
+            }
+    )
+    public String logout(@RequestHeader(value = "Authorization", required = false) String authorizationHeader,
+                         @RequestBody(required = false) RefreshRequestDTO request) {
+        if (authorizationHeader == null || !authorizationHeader.startsWith("Bearer ")) {
+            throw new AuthenticationException("Missing access token");
         }
 
-        // Fetch user details from the database
-        User user = userRepository.findByEmail(request.getEmail())
-                .orElseThrow(() -> new UserNotFoundException("User not found"));
+        Claims claims;
+        try {
+            claims = jwtUtil.extractValidClaims(authorizationHeader.substring(7));
+        } catch (JwtException | IllegalArgumentException ex) {
+            throw new AuthenticationException("Invalid access token");
+        }
 
-        // Generate a JWT token
-        String token = jwtUtil.generateToken(user.getEmail());
+        if (claims.getId() != null) {
+            tokenRevocationService.revoke(claims.getId(), claims.getExpiration());
+        }
+        // Only the owner of the access token may revoke a refresh token; tokens without a user id cannot prove it
+        Number userId = claims.get(JwtUtil.USER_ID_CLAIM, Number.class);
+        if (request != null && request.getRefreshToken() != null && userId != null) {
+            refreshTokenService.revoke(request.getRefreshToken(), userId.longValue());
+        }
 
-        // Return the token (and optionally include the user's role)
-        return String.format("Bearer %s", token);
+        return "Logged out successfully!";
     }
 
     /**
@@ -92,7 +191,7 @@ public class AuthController {
     @Operation(
             summary = "Register a new user",
             description = "Registers a new user with default role 'USER'.",
-            requestBody = @RequestBody(
+            requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(
                     description = "Details for user registration",
                     required = true,
                     content = @Content(
@@ -102,24 +201,48 @@ public class AuthController {
             responses = {
                     @ApiResponse(responseCode = "200", description = "Registration successful",
                             content = @Content(schema = @Schema(example = "User registered successfully!"))),
-                    @ApiResponse(responseCode = "400", description = "Email already in use",
+                    @ApiResponse(responseCode = "409", description = "Email already in use",
+                            content = @Content(schema = @Schema(implementation = ErrorResponseDTO.class))),
+                    @ApiResponse(responseCode = "503", description = "Too many concurrent authentication requests",
                             content = @Content(schema = @Schema(implementation = ErrorResponseDTO.class)))
             }
     )
-    public String register(@RequestBody RegisterRequestDTO request) {
-        if (userRepository.findByEmail(request.getEmail()).isPresent()) {
-            throw new EmailAlreadyInUseException("Email already in use");
-        }
-
-        User user = new User();
-        user.setEmail(request.getEmail());
-        user.setPassword(passwordEncoder.encode(request.getPassword())); // Hash the password
-        user.setRole(Role.ROLE_USER);
-
-        userRepository.save(user);
+    public CompletableFuture<String> register(@RequestBody RegisterRequestDTO request) {
+        // Hash the password on the password hashing pool
+        return passwordHashingService.submit(() -> passwordEncoder.encode(request.getPassword()))
+                .thenApply(passwordHash -> {
+                    User user = new User();
+                    user.setEmail(request.getEmail());
+                    user.setPassword(passwordHash);
+                    user.setRole(Role.ROLE_USER);
+
+                    // Single INSERT, the unique constraint on users.email detects duplicates (also concurrent ones)
+                    try {
+                        userRepository.saveAndFlush(user);
+                    } catch (DataIntegrityViolationException ex) {
+                        if (isEmailConflict(ex)) {
+                            throw new EmailAlreadyInUseException("Email already in use");
+                        }
+                        throw ex;
+                    }
+                    userDetailsService.evict(user.getEmail()); // Write-through invalidation of the user details cache
+
+                    return "User registered successfully!";
+                });
+    }
 
-        return "User registered successfully!";
+    /**
+     * Whether the insert hit the unique email constraint rather than another integrity rule (NOT NULL, length, ...).
+     * PostgreSQL names the constraint users_email_key; H2 generates names, so there a unique violation is enough,
+     * since email is the only unique column a new user can collide on.
+     */
+    private static boolean isEmailConflict(DataIntegrityViolationException ex) {
+        for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation) {
+                return EMAIL_UNIQUE_CONSTRAINT.equalsIgnoreCase(violation.getConstraintName())
+                        || UNIQUE_VIOLATION.equals(violation.getSQLState());
+            }
+        }
+        return false;
     }
 }
-
-
@@ -3,8 +3,10 @@ package com.example.demo.controllers;
 import com.example.demo.dto.*;
 import com.example.demo.entities.*;
 import com.example.demo.exceptions.*;
+import com.example.demo.services.TaskQueryGovernor;
 import com.example.demo.services.TaskService;
-import com.example.demo.repositories.UserRepository;
+import com.example.demo.utils.CurrentUser;
+import com.example.demo.utils.TaskView;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -19,7 +21,6 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.data.domain.Page;
 
-import java.security.Principal;
 import java.util.List;
 import java.util.Map;
 
@@ -32,7 +33,7 @@ public class TaskController {
     private TaskService taskService;
 
     @Autowired
-    private UserRepository userRepository;
+    private TaskQueryGovernor taskQueryGovernor;
 
     // ----------------------------- USER ENDPOINTS -----------------------------
 
@@ -43,21 +44,67 @@ public class TaskController {
     @PreAuthorize("hasRole('ROLE_USER')")
     @Operation(
             summary = "Get tasks assigned to the logged-in user",
-            description = "Retrieve all tasks that are currently assigned to the logged-in user.",
+            description = "Retrieve the tasks currently assigned to the logged-in user, with optional status and priority filters. Results are paginated.",
+            parameters = {
+                    @Parameter(name = "status", description = "Status of the task (optional)", required = false),
+                    @Parameter(name = "priority", description = "Priority of the task (optional)", required = false),
+                    @Parameter(name = "fields", description = "Comma-separated fields to return, e.g. id,title,status (optional, default all)", required = false),
+                    @Parameter(name = "expand", description = "Set to 'comments' to embed task comments (optional)", required = false),
+                    @Parameter(name = "pageable", description = "Pagination information (e.g., page number, size, sort)", required = false)
+            },
             responses = {
                     @ApiResponse(responseCode = "200", description = "Tasks retrieved successfully",
-                            content = @Content(schema = @Schema(implementation = TaskResponseDTO.class))),
+                            content = @Content(schema = @Schema(implementation = Page.class))),
                     @ApiResponse(responseCode = "404", description = "User not found",
                             content = @Content(schema = @Schema(implementation = ErrorResponseDTO.class)))
             }
     )
-    public List<TaskResponseDTO> getAssignedTasks(Principal principal) {
-        // Get the logged-in user
-        User loggedInUser = userRepository.findByEmail(principal.getName())
-                .orElseThrow(() -> new UserNotFoundException("User not found"));
+    public Page<TaskResponseDTO> getAssignedTasks(@RequestParam(required = false) TaskStatus status,
+                                                  @RequestParam(required = false) TaskPriority priority,
+                                                  @RequestParam(required = false) String fields,
+                                                  @RequestParam(required = false) String expand,
+                                                  Pageable pageable,
+                                                  @CurrentUser User loggedInUser) {
+        TaskView view = TaskView.parse(fields, expand);
+        taskQueryGovernor.checkPage(pageable, view);
+
+        // Return one page of tasks assigned to the user
+        return taskService.getTasksAssignedToUser(loggedInUser, status, priority, pageable, view);
+    }
 
-        // Return tasks assigned to the user
-        return taskService.getTasksAssignedToUser(loggedInUser);
+    /**
+     * Walk tasks assigned to the logged-in user with a cursor.
+     */
+    @GetMapping(value = "/assigned", params = "after")
+    @PreAuthorize("hasRole('ROLE_USER')")
+    @Operation(
+            summary = "Get tasks assigned to the logged-in user, cursor-paginated",
+            description = "Pass an empty 'after' to start, then the 'nextCursor' of the previous response. Sortable by id or title.",
+            parameters = {
+                    @Parameter(name = "status", description = "Status of the task (optional)", required = false),
+                    @Parameter(name = "priority", description = "Priority of the task (optional)", required = false),
+                    @Parameter(name = "after", description = "Cursor from the previous page, empty for the first page", required = true),
+                    @Parameter(name = "fields", description = "Comma-separated fields to return, e.g. id,title,status (optional, default all)", required = false),
+                    @Parameter(name = "expand", description = "Set to 'comments' to embed task comments (optional)", required = false),
+                    @Parameter(name = "pageable", description = "Page size and sort (e.g., size=50&sort=title,desc)", required = false)
+            },
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Tasks retrieved successfully",
+                            content = @Content(schema = @Schema(implementation = CursorPageDTO.class))),
+                    @ApiResponse(responseCode = "400", description = "Invalid cursor or unsupported sort",
+                            content = @Content(schema = @Schema(implementation = ErrorResponseDTO.class)))
+            }
+    )
+    public CursorPageDTO<TaskResponseDTO> getAssignedTasks(@RequestParam(required = false) TaskStatus status,
+                                                           @RequestParam(required = false) TaskPriority priority,
+                                                           @RequestParam String after,
+                                                           @RequestParam(required = false) String fields,
+                                                           @RequestParam(required = false) String expand,
+                                                           Pageable pageable,
+                                                           @CurrentUser User loggedInUser) {
+        TaskView view = TaskView.parse(fields, expand);
+        taskQueryGovernor.checkSize(pageable.getPageSize(), view);
+        return taskService.getTasksAssignedToUser(loggedInUser, status, priority, after, pageable.getSort(), pageable.getPageSize(), view);
     }
 
     /**
@@ -82,14 +129,10 @@ public class TaskController {
     )
     public CommentResponseDTO addCommentToTask(@PathVariable Long id,
                                                @RequestBody @Valid CommentRequestDTO request,
-                                               Principal principal) {
-        // Get the logged-in user
-        User loggedInUser = userRepository.findByEmail(principal.getName())
-                .orElseThrow(() -> new UserNotFoundException("User not found"));
-
+                                               @CurrentUser User loggedInUser) {
         // Add the comment to the task
         Comment comment = taskService.addCommentToTask(id, request, loggedInUser);
-        return taskService.getTaskMapper().mapToCommentResponseDTO(comment);
+        return taskService.getTaskMapper().mapToCommentResponseDTO(comment, loggedInUser);
     }
 
     /**
@@ -108,12 +151,40 @@ public class TaskController {
                             content = @Content(schema = @Schema(implementation = ErrorResponseDTO.class)))
             }
     )
-    public List<CommentResponseDTO> getCommentsForTask(@PathVariable Long id, Principal principal) {
-        User loggedInUser = userRepository.findByEmail(principal.getName())
-                .orElseThrow(() -> new UserNotFoundException("User not found"));
+    public List<CommentResponseDTO> getCommentsForTask(@PathVariable Long id, @CurrentUser User loggedInUser) {
         return taskService.getCommentsForTask(id, loggedInUser);
     }
 
+    /**
+     * Walk the comments of a task with a cursor, oldest first.
+     */
+    @GetMapping(value = "/{id}/comments", params = "after")
+    @PreAuthorize("hasRole('ROLE_USER')")
+    @Operation(
+            summary = "Get comments for a task, cursor-paginated",
+            description = "Pass an empty 'after' to start, then the 'nextCursor' of the previous response. Comments are ordered by creation time.",
+            parameters = {
+                    @Parameter(name = "id", description = "ID of the task", required = true),
+                    @Parameter(name = "after", description = "Cursor from the previous page, empty for the first page", required = true),
+                    @Parameter(name = "pageable", description = "Page size (e.g., size=50)", required = false)
+            },
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Comments retrieved successfully",
+                            content = @Content(schema = @Schema(implementation = CursorPageDTO.class))),
+                    @ApiResponse(responseCode = "400", description = "Invalid cursor",
+                            content = @Content(schema = @Schema(implementation = ErrorResponseDTO.class))),
+                    @ApiResponse(responseCode = "404", description = "Task not found",
+                            content = @Content(schema = @Schema(implementation = ErrorResponseDTO.class)))
+            }
+    )
+    public CursorPageDTO<CommentResponseDTO> getCommentsForTask(@PathVariable Long id,
+                                                                @RequestParam String after,
+                                                                Pageable pageable,
+                                                                @CurrentUser User loggedInUser) {
+        taskQueryGovernor.checkSize(pageable.getPageSize(), TaskView.SUMMARY);
+        return taskService.getCommentsForTask(id, loggedInUser, after, pageable.getPageSize());
+    }
+
     /**
      * Update the status of a task assigned to the logged-in user.
      */
@@ -136,17 +207,60 @@ public class TaskController {
     )
     public TaskResponseDTO updateTaskStatusForUser(@PathVariable Long id,
                                                    @RequestBody Map<String, String> request,
-                                                   Principal principal) {
-        // Get the logged-in user
-        User loggedInUser = userRepository.findByEmail(principal.getName())
-                .orElseThrow(() -> new UserNotFoundException("User not found"));
-
+                                                   @CurrentUser User loggedInUser) {
         // Extract new status from the request
         TaskStatus newStatus = TaskStatus.valueOf(request.get("status").toUpperCase());
 
         // Update the task status for the user
         Task updatedTask = taskService.updateTaskStatus(id, newStatus, loggedInUser, false);
-        return taskService.getTaskMapper().mapToTaskResponseDTO(updatedTask);
+        return taskService.getTask(updatedTask.getId());
+    }
+
+    // ------------------------- USER AND ADMIN ENDPOINTS -------------------------
+
+    /**
+     * Get many tasks by id in one call.
+     */
+    @GetMapping("/batch")
+    @PreAuthorize("hasAnyRole('ROLE_USER', 'ROLE_ADMIN')")
+    @Operation(
+            summary = "Get many tasks by id",
+            description = "Retrieve the given tasks with their comments in one call. Admins may read any task, users only the tasks assigned to them; other ids are listed in 'deniedIds', unknown ones in 'missingIds'.",
+            parameters = @Parameter(name = "ids", description = "Comma-separated task ids, e.g. 1,2,3", required = true),
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Tasks retrieved",
+                            content = @Content(schema = @Schema(implementation = TaskBatchResponseDTO.class))),
+                    @ApiResponse(responseCode = "400", description = "Too many ids in one request",
+                            content = @Content(schema = @Schema(implementation = ErrorResponseDTO.class)))
+            }
+    )
+    public TaskBatchResponseDTO getTasks(@RequestParam List<Long> ids, @CurrentUser User loggedInUser) {
+        taskQueryGovernor.checkBatchSize(ids.size());
+        return taskService.getTasks(ids, loggedInUser);
+    }
+
+    /**
+     * Same as GET /tasks/batch, for id lists too long for a query string.
+     */
+    @PostMapping("/batch")
+    @PreAuthorize("hasAnyRole('ROLE_USER', 'ROLE_ADMIN')")
+    @Operation(
+            summary = "Get many tasks by id (request body)",
+            description = "Same as GET /tasks/batch, with the ids in the request body.",
+            requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                    description = "Task ids",
+                    content = @Content(schema = @Schema(implementation = TaskBatchRequestDTO.class))
+            ),
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Tasks retrieved",
+                            content = @Content(schema = @Schema(implementation = TaskBatchResponseDTO.class))),
+                    @ApiResponse(responseCode = "400", description = "No ids or too many ids in one request",
+                            content = @Content(schema = @Schema(implementation = ErrorResponseDTO.class)))
+            }
+    )
+    public TaskBatchResponseDTO getTasks(@RequestBody @Valid TaskBatchRequestDTO request, @CurrentUser User loggedInUser) {
+        taskQueryGovernor.checkBatchSize(request.getIds().size());
+        return taskService.getTasks(request.getIds(), loggedInUser);
     }
 
     // ----------------------------- ADMIN ENDPOINTS -----------------------------
@@ -168,12 +282,29 @@ public class TaskController {
                             content = @Content(schema = @Schema(implementation = TaskResponseDTO.class)))
             }
     )
-    public TaskResponseDTO createTask(@RequestBody @Valid TaskRequestDTO request, Principal principal) {
-        User author = userRepository.findByEmail(principal.getName())
-                .orElseThrow(() -> new AuthorNotFoundException("Author not found"));
-
+    public TaskResponseDTO createTask(@RequestBody @Valid TaskRequestDTO request, @CurrentUser User author) {
         Task task = taskService.createTask(request, author);
-        return taskService.getTaskMapper().mapToTaskResponseDTO(task);
+        return taskService.getTask(task.getId());
+    }
+
+    /**
+     * Get a single task with its comments.
+     */
+    @GetMapping("/{id}")
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    @Operation(
+            summary = "Get a task",
+            description = "Retrieve a single task with its comments.",
+            parameters = @Parameter(name = "id", description = "ID of the task", required = true),
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Task retrieved successfully",
+                            content = @Content(schema = @Schema(implementation = TaskResponseDTO.class))),
+                    @ApiResponse(responseCode = "404", description = "Task not found",
+                            content = @Content(schema = @Schema(implementation = ErrorResponseDTO.class)))
+            }
+    )
+    public TaskResponseDTO getTask(@PathVariable Long id) {
+        return taskService.getTask(id);
     }
 
     /**
@@ -201,7 +332,7 @@ public class TaskController {
         if (updatedTask == null) {
             throw new TaskNotFoundException("Task with ID " + id + " not found");
         }
-        return taskService.getTaskMapper().mapToTaskResponseDTO(updatedTask);
+        return taskService.getTask(updatedTask.getId());
     }
 
     /**
@@ -265,7 +396,7 @@ public class TaskController {
         if (updatedTask == null) {
             throw new TaskNotFoundException("Task with ID " + id + " not found");
         }
-        return taskService.getTaskMapper().mapToTaskResponseDTO(updatedTask);
+        return taskService.getTask(updatedTask.getId());
     }
 
     /**
@@ -298,7 +429,7 @@ public class TaskController {
 
             // Update the task priority
             Task updatedTask = taskService.updateTaskPriority(id, newPriority);
-            return taskService.getTaskMapper().mapToTaskResponseDTO(updatedTask);
+            return taskService.getTask(updatedTask.getId());
         } catch (IllegalArgumentException ex) {
             // Handle invalid priority
             throw new InvalidRequestException("Invalid priority value provided");
@@ -316,35 +447,215 @@ public class TaskController {
     @PreAuthorize("hasRole('ROLE_ADMIN')")
     @Operation(
             summary = "Retrieve all tasks with filtering and pagination",
-            description = "Allows an admin to retrieve all tasks with optional filters (author email, assignee email, status, and priority). Results can be paginated.",
+            description = "Allows an admin to retrieve all tasks with optional filters (author email or ID, assignee email or ID, status, and priority). Results can be paginated.",
             parameters = {
                     @Parameter(name = "authorEmail", description = "Email of the task author (optional)", required = false),
+                    @Parameter(name = "authorId", description = "ID of the task author (optional)", required = false),
                     @Parameter(name = "assigneeEmail", description = "Email of the task assignee (optional)", required = false),
+                    @Parameter(name = "assigneeId", description = "ID of the task assignee (optional)", required = false),
                     @Parameter(name = "status", description = "Status of the task (optional)", required = false),
                     @Parameter(name = "priority", description = "Priority of the task (optional)", required = false),
+                    @Parameter(name = "fields", description = "Comma-separated fields to return, e.g. id,title,status (optional, default all)", required = false),
+                    @Parameter(name = "expand", description = "Set to 'comments' to embed task comments (optional)", required = false),
                     @Parameter(name = "pageable", description = "Pagination information (e.g., page number, size, sort)", required = false)
             },
             responses = {
                     @ApiResponse(responseCode = "200", description = "Tasks retrieved successfully", content = @Content(schema = @Schema(implementation = Page.class))),
-                    @ApiResponse(responseCode = "400", description = "Invalid filter parameters")
+                    @ApiResponse(responseCode = "400", description = "Invalid filter parameters, oversized page, deep offset or unsupported sort")
             }
     )
     public Page<TaskResponseDTO> getAllTasks(
             @RequestParam(required = false) String authorEmail,
+            @RequestParam(required = false) Long authorId,
             @RequestParam(required = false) String assigneeEmail,
+            @RequestParam(required = false) Long assigneeId,
             @RequestParam(required = false) TaskStatus status,
             @RequestParam(required = false) TaskPriority priority,
+            @RequestParam(required = false) String fields,
+            @RequestParam(required = false) String expand,
             Pageable pageable) {
         try {
+            TaskView view = TaskView.parse(fields, expand);
+            taskQueryGovernor.checkPage(pageable, view);
+
             // Directly return the result from the service
-            return taskService.getAllTasks(authorEmail, assigneeEmail, status, priority, pageable);
+            return taskService.getAllTasks(new TaskFilterDTO(authorEmail, authorId, assigneeEmail, assigneeId, status, priority), pageable, view);
         } catch (IllegalArgumentException ex) {
-            // Handle invalid status or priority
+            // Handle invalid status or priority; governor rejections and query timeouts keep their own status
             throw new InvalidRequestException("Invalid filter parameter provided");
-        } catch (Exception ex) {
-            // Catch-all for any unexpected exceptions
-            throw new InvalidRequestException("An error occurred while retrieving tasks");
         }
     }
-}
 
+    /**
+     * Walk all tasks with a cursor instead of page numbers.
+     */
+    @GetMapping(params = "after")
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    @Operation(
+            summary = "Retrieve all tasks with filtering and cursor pagination",
+            description = "Same filters as the paged listing. Pass an empty 'after' to start, then the 'nextCursor' of the previous response. Sortable by id or title.",
+            parameters = {
+                    @Parameter(name = "authorEmail", description = "Email of the task author (optional)", required = false),
+                    @Parameter(name = "authorId", description = "ID of the task author (optional)", required = false),
+                    @Parameter(name = "assigneeEmail", description = "Email of the task assignee (optional)", required = false),
+                    @Parameter(name = "assigneeId", description = "ID of the task assignee (optional)", required = false),
+                    @Parameter(name = "status", description = "Status of the task (optional)", required = false),
+                    @Parameter(name = "priority", description = "Priority of the task (optional)", required = false),
+                    @Parameter(name = "after", description = "Cursor from the previous page, empty for the first page", required = true),
+                    @Parameter(name = "fields", description = "Comma-separated fields to return, e.g. id,title,status (optional, default all)", required = false),
+                    @Parameter(name = "expand", description = "Set to 'comments' to embed task comments (optional)", required = false),
+                    @Parameter(name = "pageable", description = "Page size and sort (e.g., size=50&sort=title,desc)", required = false)
+            },
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Tasks retrieved successfully", content = @Content(schema = @Schema(implementation = CursorPageDTO.class))),
+                    @ApiResponse(responseCode = "400", description = "Invalid filter parameters, cursor or sort")
+            }
+    )
+    public CursorPageDTO<TaskResponseDTO> getAllTasksAfter(
+            @RequestParam(required = false) String authorEmail,
+            @RequestParam(required = false) Long authorId,
+            @RequestParam(required = false) String assigneeEmail,
+            @RequestParam(required = false) Long assigneeId,
+            @RequestParam(required = false) TaskStatus status,
+            @RequestParam(required = false) TaskPriority priority,
+            @RequestParam String after,
+            @RequestParam(required = false) String fields,
+            @RequestParam(required = false) String expand,
+            Pageable pageable) {
+        TaskView view = TaskView.parse(fields, expand);
+        taskQueryGovernor.checkSize(pageable.getPageSize(), view);
+        return taskService.getAllTasks(new TaskFilterDTO(authorEmail, authorId, assigneeEmail, assigneeId, status, priority), after, pageable.getSort(), pageable.getPageSize(), view);
+    }
+
+    /**
+     * Retrieve one page of tasks without the count query.
+     */
+    @GetMapping(params = {"withTotal=false", "!after"})
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    @Operation(
+            summary = "Retrieve all tasks without a total count",
+            description = "Same filters and pagination as the paged listing, but returns only 'hasNext' instead of totals, which skips the count query.",
+            parameters = {
+                    @Parameter(name = "authorEmail", description = "Email of the task author (optional)", required = false),
+                    @Parameter(name = "authorId", description = "ID of the task author (optional)", required = false),
+                    @Parameter(name = "assigneeEmail", description = "Email of the task assignee (optional)", required = false),
+                    @Parameter(name = "assigneeId", description = "ID of the task assignee (optional)", required = false),
+                    @Parameter(name = "status", description = "Status of the task (optional)", required = false),
+                    @Parameter(name = "priority", description = "Priority of the task (optional)", required = false),
+                    @Parameter(name = "withTotal", description = "Must be false to select this mode", required = true),
+                    @Parameter(name = "fields", description = "Comma-separated fields to return, e.g. id,title,status (optional, default all)", required = false),
+                    @Parameter(name = "expand", description = "Set to 'comments' to embed task comments (optional)", required = false),
+                    @Parameter(name = "pageable", description = "Pagination information (e.g., page number, size, sort)", required = false)
+            },
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Tasks retrieved successfully", content = @Content(schema = @Schema(implementation = SliceResponseDTO.class))),
+                    @ApiResponse(responseCode = "400", description = "Invalid filter parameters, oversized page, deep offset or unsupported sort")
+            }
+    )
+    public SliceResponseDTO<TaskResponseDTO> getAllTasksSlice(
+            @RequestParam(required = false) String authorEmail,
+            @RequestParam(required = false) Long authorId,
+            @RequestParam(required = false) String assigneeEmail,
+            @RequestParam(required = false) Long assigneeId,
+            @RequestParam(required = false) TaskStatus status,
+            @RequestParam(required = false) TaskPriority priority,
+            @RequestParam(required = false) String fields,
+            @RequestParam(required = false) String expand,
+            Pageable pageable) {
+        TaskView view = TaskView.parse(fields, expand);
+        taskQueryGovernor.checkPage(pageable, view);
+        return taskService.getAllTasksSlice(new TaskFilterDTO(authorEmail, authorId, assigneeEmail, assigneeId, status, priority), pageable, view);
+    }
+
+    /**
+     * Retrieve one page of tasks with an estimated total.
+     */
+    @GetMapping(params = {"estimatedTotal=true", "withTotal!=false", "!after"})
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    @Operation(
+            summary = "Retrieve all tasks with an estimated total",
+            description = "Same response as the paged listing, but totals are estimated: planner statistics when unfiltered, a briefly cached count when filtered.",
+            parameters = {
+                    @Parameter(name = "authorEmail", description = "Email of the task author (optional)", required = false),
+                    @Parameter(name = "authorId", description = "ID of the task author (optional)", required = false),
+                    @Parameter(name = "assigneeEmail", description = "Email of the task assignee (optional)", required = false),
+                    @Parameter(name = "assigneeId", description = "ID of the task assignee (optional)", required = false),
+                    @Parameter(name = "status", description = "Status of the task (optional)", required = false),
+                    @Parameter(name = "priority", description = "Priority of the task (optional)", required = false),
+                    @Parameter(name = "estimatedTotal", description = "Must be true to select this mode", required = true),
+                    @Parameter(name = "fields", description = "Comma-separated fields to return, e.g. id,title,status (optional, default all)", required = false),
+                    @Parameter(name = "expand", description = "Set to 'comments' to embed task comments (optional)", required = false),
+                    @Parameter(name = "pageable", description = "Pagination information (e.g., page number, size, sort)", required = false)
+            },
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Tasks retrieved successfully", content = @Content(schema = @Schema(implementation = Page.class))),
+                    @ApiResponse(responseCode = "400", description = "Invalid filter parameters, oversized page, deep offset or unsupported sort")
+            }
+    )
+    public Page<TaskResponseDTO> getAllTasksEstimated(
+            @RequestParam(required = false) String authorEmail,
+            @RequestParam(required = false) Long authorId,
+            @RequestParam(required = false) String assigneeEmail,
+            @RequestParam(required = false) Long assigneeId,
+            @RequestParam(required = false) TaskStatus status,
+            @RequestParam(required = false) TaskPriority priority,
+            @RequestParam(required = false) String fields,
+            @RequestParam(required = false) String expand,
+            Pageable pageable) {
+        TaskView view = TaskView.parse(fields, expand);
+        taskQueryGovernor.checkPage(pageable, view);
+        return taskService.getAllTasksEstimated(new TaskFilterDTO(authorEmail, authorId, assigneeEmail, assigneeId, status, priority), pageable, view);
+    }
+
+    /**
+     * Full-text search over task titles and descriptions.
+     */
+    @GetMapping("/search")
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    @Operation(
+            summary = "Search tasks",
+            description = "Ranked full-text search over titles and descriptions (web search syntax: quotes, OR, -exclude). Pass the 'nextCursor' of the previous response as 'after' to continue.",
+            parameters = {
+                    @Parameter(name = "q", description = "Search query", required = true),
+                    @Parameter(name = "after", description = "Cursor from the previous page (optional)", required = false),
+                    @Parameter(name = "fields", description = "Comma-separated fields to return, e.g. id,title,status (optional, default all)", required = false),
+                    @Parameter(name = "expand", description = "Set to 'comments' to embed task comments (optional)", required = false),
+                    @Parameter(name = "pageable", description = "Page size (e.g., size=20)", required = false)
+            },
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Matching tasks, best first", content = @Content(schema = @Schema(implementation = CursorPageDTO.class))),
+                    @ApiResponse(responseCode = "400", description = "Empty query or invalid cursor")
+            }
+    )
+    public CursorPageDTO<TaskResponseDTO> searchTasks(
+            @RequestParam String q,
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) String fields,
+            @RequestParam(required = false) String expand,
+            Pageable pageable) {
+        TaskView view = TaskView.parse(fields, expand);
+        taskQueryGovernor.checkSize(pageable.getPageSize(), view);
+        return taskService.searchTasks(q, after, pageable.getPageSize(), view);
+    }
+
+    /**
+     * Typeahead suggestions for task titles.
+     */
+    @GetMapping("/suggest")
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    @Operation(
+            summary = "Suggest tasks by title prefix",
+            description = "Returns tasks with a title word starting with each word of the prefix. Served from an in-memory index, so it is cheap to call on every keystroke.",
+            parameters = {
+                    @Parameter(name = "prefix", description = "Typed prefix, e.g. 'fix log'", required = true),
+                    @Parameter(name = "limit", description = "Maximum number of suggestions (default 10, at most 50)", required = false)
+            },
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Suggestions retrieved successfully", content = @Content(schema = @Schema(implementation = TaskSuggestionDTO.class)))
+            }
+    )
+    public List<TaskSuggestionDTO> suggestTasks(@RequestParam String prefix,
+                                                @RequestParam(defaultValue = "10") int limit) {
+        return taskService.suggestTasks(prefix, Math.min(limit, 50));
+    }
+}
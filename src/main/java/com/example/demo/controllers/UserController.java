@@ -0,0 +1,49 @@
+package com.example.demo.controllers;
+
+import com.example.demo.dto.*;
+import com.example.demo.services.UserProvisioningService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/users")
+@SecurityRequirement(name = "bearerAuth")
+public class UserController {
+
+    @Autowired
+    private UserProvisioningService userProvisioningService;
+
+    // ----------------------------- ADMIN ENDPOINTS -----------------------------
+
+    /**
+     * Register many users at once.
+     */
+    @PostMapping("/bulk")
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    @Operation(
+            summary = "Bulk-register users",
+            description = "Allows an admin to provision many users with role 'USER' in one call. Existing emails are skipped.",
+            requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                    description = "Users to register",
+                    content = @Content(schema = @Schema(implementation = BulkRegisterRequestDTO.class))
+            ),
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Users registered",
+                            content = @Content(schema = @Schema(implementation = BulkRegisterResponseDTO.class))),
+                    @ApiResponse(responseCode = "400", description = "Too many users in one request",
+                            content = @Content(schema = @Schema(implementation = ErrorResponseDTO.class))),
+                    @ApiResponse(responseCode = "503", description = "Password hashing pool is saturated",
+                            content = @Content(schema = @Schema(implementation = ErrorResponseDTO.class)))
+            }
+    )
+    public BulkRegisterResponseDTO registerUsers(@RequestBody @Valid BulkRegisterRequestDTO request) {
+        return userProvisioningService.registerAll(request.getUsers());
+    }
+}
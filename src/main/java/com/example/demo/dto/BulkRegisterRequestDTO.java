@@ -0,0 +1,13 @@
+package com.example.demo.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class BulkRegisterRequestDTO {
+    @NotEmpty(message = "At least one user is required")
+    private List<@Valid RegisterRequestDTO> users;
+}
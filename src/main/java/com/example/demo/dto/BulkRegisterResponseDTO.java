@@ -0,0 +1,16 @@
+package com.example.demo.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkRegisterResponseDTO {
+    private int created;
+    private List<String> skippedEmails; // Emails that already existed
+    private List<String> unconfirmedEmails; // The driver reported no row count, so inserted or skipped is unknown
+}
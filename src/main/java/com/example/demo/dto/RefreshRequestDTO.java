@@ -0,0 +1,10 @@
+package com.example.demo.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.Data;
+
+@Data
+public class RefreshRequestDTO {
+    @NotBlank(message = "Refresh token is required")
+    private String refreshToken;
+}
@@ -0,0 +1,17 @@
+package com.example.demo.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SliceResponseDTO<T> {
+    private List<T> content;
+    private int page;
+    private int size;
+    private boolean hasNext;
+}
@@ -0,0 +1,12 @@
+package com.example.demo.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class TaskBatchRequestDTO {
+    @NotEmpty(message = "At least one task id is required")
+    private List<Long> ids;
+}
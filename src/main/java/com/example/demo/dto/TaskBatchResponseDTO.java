@@ -0,0 +1,16 @@
+package com.example.demo.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskBatchResponseDTO {
+    private List<TaskResponseDTO> tasks; // In the order the ids were requested
+    private List<Long> missingIds; // No such task
+    private List<Long> deniedIds; // Exists, but the caller may not read it
+}
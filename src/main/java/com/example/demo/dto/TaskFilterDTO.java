@@ -0,0 +1,22 @@
+package com.example.demo.dto;
+
+import com.example.demo.entities.TaskPriority;
+import com.example.demo.entities.TaskStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Optional filters for the admin task listings. Users can be given by email or by id; all set filters must match.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskFilterDTO {
+    private String authorEmail;
+    private Long authorId;
+    private String assigneeEmail;
+    private Long assigneeId;
+    private TaskStatus status;
+    private TaskPriority priority;
+}
@@ -1,11 +1,15 @@
 package com.example.demo.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import lombok.Data;
 import com.example.demo.entities.Task;
 
 import java.util.List;
+import java.util.Set;
 
 @Data
+@JsonSerialize(using = TaskResponseSerializer.class) // Fields left out by a sparse fieldset are omitted; null values of selected fields are still sent
 public class TaskResponseDTO {
     private Long id;
     private String title;
@@ -15,4 +19,7 @@ public class TaskResponseDTO {
     private String authorEmail;
     private String assigneeEmail;
     private List<CommentResponseDTO> comments;
+
+    @JsonIgnore
+    private Set<String> fields; // Properties the view selected, including "comments" when expanded; null = all
 }
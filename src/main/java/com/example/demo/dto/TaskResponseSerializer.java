@@ -0,0 +1,39 @@
+package com.example.demo.dto;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+
+/**
+ * Writes a TaskResponseDTO with only the properties its view selected. A selected property is
+ * written even when null (e.g. an unassigned task's assigneeEmail), so full responses keep their shape.
+ */
+public class TaskResponseSerializer extends StdSerializer<TaskResponseDTO> {
+
+    public TaskResponseSerializer() {
+        super(TaskResponseDTO.class);
+    }
+
+    @Override
+    public void serialize(TaskResponseDTO dto, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        gen.writeStartObject(dto);
+        write(dto, "id", dto.getId(), gen, provider);
+        write(dto, "title", dto.getTitle(), gen, provider);
+        write(dto, "description", dto.getDescription(), gen, provider);
+        write(dto, "status", dto.getStatus(), gen, provider);
+        write(dto, "priority", dto.getPriority(), gen, provider);
+        write(dto, "authorEmail", dto.getAuthorEmail(), gen, provider);
+        write(dto, "assigneeEmail", dto.getAssigneeEmail(), gen, provider);
+        write(dto, "comments", dto.getComments(), gen, provider);
+        gen.writeEndObject();
+    }
+
+    private static void write(TaskResponseDTO dto, String field, Object value,
+                              JsonGenerator gen, SerializerProvider provider) throws IOException {
+        if (dto.getFields() == null || dto.getFields().contains(field)) {
+            provider.defaultSerializeField(field, value, gen);
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.demo.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TokenResponseDTO {
+    private String tokenType;
+    private String accessToken;
+    private String refreshToken;
+    private long expiresIn; // Access token lifetime in seconds
+}
@@ -2,13 +2,17 @@ package com.example.demo.entities;
 
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
-import lombok.Data;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
 
 import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "comments")
-@Data
+@Getter
+@Setter
+@ToString
 public class Comment {
 
     @Id
@@ -18,13 +22,29 @@ public class Comment {
     @NotBlank(message = "Comment content cannot be empty")
     private String content;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "task_id", nullable = false)
+    @ToString.Exclude
     private Task task;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "author_id", nullable = false)
+    @ToString.Exclude
     private User author;
 
     private LocalDateTime createdAt = LocalDateTime.now();
+
+    // Id-based identity, see Task
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        return o instanceof Comment other && id != null && id.equals(other.getId());
+    }
+
+    @Override
+    public int hashCode() {
+        return Comment.class.hashCode();
+    }
 }
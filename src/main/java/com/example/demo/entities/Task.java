@@ -3,16 +3,37 @@ package com.example.demo.entities;
 
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
-import lombok.Data;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
 
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
 @Table(name = "tasks")
-@Data
+@Getter
+@Setter
+@ToString
+// Fetch plans, chosen explicitly by TaskService per use case; associations are lazy otherwise
+@NamedEntityGraph(name = Task.LIST_GRAPH, attributeNodes = {
+        @NamedAttributeNode("author"),
+        @NamedAttributeNode("assignee")
+})
+@NamedEntityGraph(name = Task.DETAIL_GRAPH, attributeNodes = {
+        @NamedAttributeNode("author"),
+        @NamedAttributeNode("assignee"),
+        @NamedAttributeNode(value = "comments", subgraph = "comment.author")
+}, subgraphs = @NamedSubgraph(name = "comment.author", attributeNodes = @NamedAttributeNode("author")))
+@NamedEntityGraph(name = Task.MUTATION_GRAPH, attributeNodes = {
+        @NamedAttributeNode("assignee")
+})
 public class Task {
 
+    public static final String LIST_GRAPH = "Task.list";
+    public static final String DETAIL_GRAPH = "Task.detail";
+    public static final String MUTATION_GRAPH = "Task.mutation";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -28,14 +49,32 @@ public class Task {
     @Enumerated(EnumType.STRING)
     private TaskPriority priority;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "author_id", nullable = false)
+    @ToString.Exclude
     private User author;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "assignee_id")
+    @ToString.Exclude
     private User assignee;
 
     @OneToMany(mappedBy = "task", cascade = CascadeType.ALL, orphanRemoval = true)
+    @ToString.Exclude
     private List<Comment> comments = new ArrayList<>();
+
+    // Identity is the database id only, so comparing or hashing never touches associations.
+    // instanceof (not getClass) and a constant hash keep Hibernate proxies equal to their targets.
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        return o instanceof Task other && id != null && id.equals(other.getId());
+    }
+
+    @Override
+    public int hashCode() {
+        return Task.class.hashCode();
+    }
 }
@@ -1,26 +1,54 @@
 package com.example.demo.entities;
 
+import com.example.demo.services.UserCacheEvictionListener;
 import jakarta.persistence.*;
-import lombok.Data;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
 import jakarta.validation.constraints.NotBlank;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 
 @Entity
 @Table(name = "users")
-@Data
+@Getter
+@Setter
+@ToString
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE) // Small, rarely written, and read by almost every request
+@NaturalIdCache
+@EntityListeners(UserCacheEvictionListener.class) // Role changes and deletes evict the cached user details
 public class User {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    @NaturalId
     @Column(nullable = false, unique = true)
     @NotBlank(message = "Email cannot be empty")
     private String email;
 
     @Column(nullable = false)
     @NotBlank(message = "Password cannot be empty")
+    @ToString.Exclude
     private String password;
 
     @Enumerated(EnumType.STRING)
     private Role role;
+
+    // Id-based identity, see Task
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        return o instanceof User other && id != null && id.equals(other.getId());
+    }
+
+    @Override
+    public int hashCode() {
+        return User.class.hashCode();
+    }
 }
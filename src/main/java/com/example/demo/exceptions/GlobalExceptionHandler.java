@@ -1,7 +1,10 @@
 package com.example.demo.exceptions;
 
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.TransactionTimedOutException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
@@ -75,6 +78,23 @@ public class GlobalExceptionHandler {
         return buildErrorResponse(ex, HttpStatus.NOT_FOUND);
     }
 
+    // Handler for ServiceBusyException
+    @ExceptionHandler(ServiceBusyException.class)
+    public ResponseEntity<Object> handleServiceBusyException(ServiceBusyException ex) {
+        ResponseEntity<Object> response = buildErrorResponse(ex, HttpStatus.SERVICE_UNAVAILABLE);
+        return ResponseEntity.status(response.getStatusCode())
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(response.getBody());
+    }
+
+    // Handler for statements cancelled by the per-endpoint query timeouts
+    @ExceptionHandler({QueryTimeoutException.class, TransactionTimedOutException.class})
+    public ResponseEntity<Object> handleQueryTimeoutException(Exception ex) {
+        // The original message carries SQL, so the client gets a fixed one
+        return handleServiceBusyException(new ServiceBusyException(
+                "The query took too long and was cancelled; narrow the filters or request a smaller page", 1));
+    }
+
     // Generic Exception Handler for unhandled exceptions
     @ExceptionHandler(Exception.class)
     public ResponseEntity<Object> handleGenericException(Exception ex) {
@@ -3,8 +3,13 @@ package com.example.demo.repositories;
 import com.example.demo.entities.Comment;
 import com.example.demo.entities.Task;
 import com.example.demo.entities.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 public interface CommentRepository extends JpaRepository<Comment, Long> {
@@ -13,4 +18,23 @@ public interface CommentRepository extends JpaRepository<Comment, Long> {
 
     // Find all comments by a specific user for a task
     List<Comment> findByTaskAndAuthor(Task task, User author);
+
+    // Batch-load flat comment rows with author emails for a set of tasks in a single query
+    @Query("select new com.example.demo.repositories.CommentRow(c.id, c.task.id, c.content, a.email, c.createdAt) " +
+            "from Comment c join c.author a where c.task.id in :taskIds order by c.createdAt, c.id")
+    List<CommentRow> findRowsByTaskIdIn(@Param("taskIds") Collection<Long> taskIds);
+
+    // First page of a task's comments in (createdAt, id) order, authors joined in
+    @Query("select new com.example.demo.repositories.CommentRow(c.id, c.task.id, c.content, a.email, c.createdAt) " +
+            "from Comment c join c.author a where c.task.id = :taskId order by c.createdAt, c.id")
+    List<CommentRow> findRowsByTaskId(@Param("taskId") Long taskId, Pageable pageable);
+
+    // Next page of a task's comments after the given (createdAt, id) position
+    @Query("select new com.example.demo.repositories.CommentRow(c.id, c.task.id, c.content, a.email, c.createdAt) " +
+            "from Comment c join c.author a where c.task.id = :taskId " +
+            "and (c.createdAt > :createdAt or (c.createdAt = :createdAt and c.id > :id)) order by c.createdAt, c.id")
+    List<CommentRow> findRowsByTaskIdAfter(@Param("taskId") Long taskId,
+                                           @Param("createdAt") LocalDateTime createdAt,
+                                           @Param("id") Long id,
+                                           Pageable pageable);
 }
@@ -0,0 +1,13 @@
+package com.example.demo.repositories;
+
+import java.time.LocalDateTime;
+
+/**
+ * Flat read-only projection of a comment with its author email.
+ */
+public record CommentRow(Long id,
+                         Long taskId,
+                         String content,
+                         String authorEmail,
+                         LocalDateTime createdAt) {
+}
@@ -0,0 +1,35 @@
+package com.example.demo.repositories;
+
+import com.example.demo.entities.RefreshToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
+    // Find a refresh token with its user in one indexed lookup
+    @Query("select r from RefreshToken r join fetch r.user where r.tokenHash = :tokenHash")
+    Optional<RefreshToken> findByTokenHash(@Param("tokenHash") String tokenHash);
+
+    // Delete a token that is being rotated, returns 0 if another request already consumed it
+    @Modifying
+    @Transactional
+    @Query("delete from RefreshToken r where r.id = :id")
+    int consume(@Param("id") Long id);
+
+    // Delete a token on logout, only if it belongs to the logged-out user
+    @Modifying
+    @Transactional
+    @Query("delete from RefreshToken r where r.tokenHash = :tokenHash and r.user.id = :userId")
+    int deleteByTokenHashAndUserId(@Param("tokenHash") String tokenHash, @Param("userId") Long userId);
+
+    // Delete all expired tokens
+    @Modifying
+    @Transactional
+    @Query("delete from RefreshToken r where r.expiresAt < :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
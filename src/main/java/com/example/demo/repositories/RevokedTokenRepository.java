@@ -0,0 +1,23 @@
+package com.example.demo.repositories;
+
+import com.example.demo.entities.RevokedToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, Long> {
+    // Find ids of tokens revoked since the given time that have not expired yet
+    @Query("select r.jti from RevokedToken r where r.revokedAt >= :since and r.expiresAt > :now")
+    List<String> findActiveJtisRevokedSince(@Param("since") LocalDateTime since, @Param("now") LocalDateTime now);
+
+    // Delete rows whose tokens have expired
+    @Modifying
+    @Transactional
+    @Query("delete from RevokedToken r where r.expiresAt < :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
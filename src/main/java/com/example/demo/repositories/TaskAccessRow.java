@@ -0,0 +1,7 @@
+package com.example.demo.repositories;
+
+/**
+ * Just enough of a task to check that it exists and who it is assigned to.
+ */
+public record TaskAccessRow(Long taskId, Long assigneeId) {
+}
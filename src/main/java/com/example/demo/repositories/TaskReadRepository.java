@@ -0,0 +1,22 @@
+package com.example.demo.repositories;
+
+import com.example.demo.entities.Task;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+/**
+ * Read-path queries that select only what the list endpoints need.
+ */
+public interface TaskReadRepository {
+    // Find one page of task ids matching the specification, in the requested order
+    List<Long> findTaskIds(Specification<Task> spec, Pageable pageable);
+
+    // Same as above with an explicit offset and limit, for callers that read one row past the page
+    List<Long> findTaskIds(Specification<Task> spec, long offset, int limit, Sort sort);
+
+    // PostgreSQL only: ranked full-text matches, best first, after the given position (null for the first page)
+    List<TaskSearchHit> searchTaskIds(String query, TaskSearchHit after, int limit);
+}
@@ -0,0 +1,89 @@
+package com.example.demo.repositories;
+
+import com.example.demo.entities.Task;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import java.util.List;
+
+public class TaskReadRepositoryImpl implements TaskReadRepository {
+
+    // Rank by title and description weights; ties broken by id so the keyset is total
+    private static final String SEARCH_SELECT =
+            "SELECT t.id, ts_rank(t.search_vector, q) AS rank " +
+            "FROM tasks t, websearch_to_tsquery('english', :query) q " +
+            "WHERE t.search_vector @@ q ";
+
+    private static final String SEARCH_ORDER = "ORDER BY rank DESC, t.id ASC";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Long> findTaskIds(Specification<Task> spec, Pageable pageable) {
+        if (pageable.isUnpaged()) {
+            return createIdQuery(spec, pageable.getSort()).getResultList();
+        }
+        return findTaskIds(spec, pageable.getOffset(), pageable.getPageSize(), pageable.getSort());
+    }
+
+    @Override
+    public List<Long> findTaskIds(Specification<Task> spec, long offset, int limit, Sort sort) {
+        return createIdQuery(spec, sort)
+                .setFirstResult((int) offset)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    private TypedQuery<Long> createIdQuery(Specification<Task> spec, Sort sort) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Task> root = query.from(Task.class);
+        query.select(root.get("id"));
+
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+
+        // Id as the last sort key keeps pages stable when the requested sort has ties
+        if (sort.getOrderFor("id") == null) {
+            sort = sort.and(Sort.by("id"));
+        }
+        query.orderBy(QueryUtils.toOrders(sort, root, cb));
+
+        return entityManager.createQuery(query);
+    }
+
+    @Override
+    public List<TaskSearchHit> searchTaskIds(String query, TaskSearchHit after, int limit) {
+        String sql = after == null
+                ? SEARCH_SELECT + SEARCH_ORDER
+                : SEARCH_SELECT + "AND (ts_rank(t.search_vector, q) < CAST(:rank AS real) " +
+                  "OR (ts_rank(t.search_vector, q) = CAST(:rank AS real) AND t.id > :id)) " + SEARCH_ORDER;
+
+        Query nativeQuery = entityManager.createNativeQuery(sql)
+                .setParameter("query", query)
+                .setMaxResults(limit);
+        if (after != null) {
+            nativeQuery.setParameter("rank", after.rank());
+            nativeQuery.setParameter("id", after.id());
+        }
+
+        @SuppressWarnings("unchecked")
+        List<Object[]> rows = nativeQuery.getResultList();
+        return rows.stream()
+                .map(row -> new TaskSearchHit(((Number) row[0]).longValue(), ((Number) row[1]).floatValue()))
+                .toList();
+    }
+}
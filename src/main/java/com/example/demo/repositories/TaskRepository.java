@@ -6,11 +6,14 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
-public interface TaskRepository extends JpaRepository<Task, Long>, JpaSpecificationExecutor<Task> {
+public interface TaskRepository extends JpaRepository<Task, Long>, JpaSpecificationExecutor<Task>, TaskReadRepository {
     // Find tasks by author
     List<Task> findByAuthorId(Long authorId);
 
@@ -21,10 +24,38 @@ public interface TaskRepository extends JpaRepository<Task, Long>, JpaSpecificat
     Optional<Task> findById(Long id);
 
 
-    @EntityGraph(attributePaths = {"comments", "comments.author"}) // Eager load comments and their authors
+    @EntityGraph(Task.LIST_GRAPH) // Author and assignee for list views; comments stay lazy
     Page<Task> findAll(Pageable pageable);
 
-    @EntityGraph(attributePaths = {"comments", "comments.author"})
-    Page<Task> findByTitleContainingIgnoreCaseOrDescriptionContainingIgnoreCase(
-            String title, String description, Pageable pageable);
+    // Single task with author, assignee and comments with their authors, for the detail response
+    @EntityGraph(Task.DETAIL_GRAPH)
+    Optional<Task> findDetailById(Long id);
+
+    // Single task with just what writes need: the assignee, for the authorization check
+    @EntityGraph(Task.MUTATION_GRAPH)
+    Optional<Task> findForMutationById(Long id);
+
+    // Load flat task rows with author and assignee emails in a single query
+    @Query("select new com.example.demo.repositories.TaskRow(t.id, t.title, t.description, t.status, t.priority, a.email, s.email) " +
+            "from Task t join t.author a left join t.assignee s where t.id in :ids")
+    List<TaskRow> findRowsByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Load every task id and title, for building the in-memory title index
+    @Query("select new com.example.demo.repositories.TaskTitleRow(t.id, t.title) from Task t")
+    List<TaskTitleRow> findAllTitleRows();
+
+    // Check existence and read the assignee id without loading the task
+    @Query("select new com.example.demo.repositories.TaskAccessRow(t.id, s.id) from Task t left join t.assignee s where t.id = :id")
+    Optional<TaskAccessRow> findAccessRowById(@Param("id") Long id);
+
+    // Same check for many tasks in one query, used by GET/POST /tasks/batch
+    @Query("select new com.example.demo.repositories.TaskAccessRow(t.id, s.id) from Task t left join t.assignee s where t.id in :ids")
+    List<TaskAccessRow> findAccessRowsByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Substring search, used by GET /tasks/search where full-text search is unavailable (H2).
+    // Keyset on id: the pattern is lower-cased and escaped by the caller, the pageable only limits
+    @Query("select t.id from Task t where t.id > :afterId " +
+            "and (lower(t.title) like :pattern escape '\\' or lower(t.description) like :pattern escape '\\') " +
+            "order by t.id")
+    List<Long> findIdsMatching(@Param("pattern") String pattern, @Param("afterId") long afterId, Pageable pageable);
 }
\ No newline at end of file
@@ -0,0 +1,16 @@
+package com.example.demo.repositories;
+
+import com.example.demo.entities.TaskPriority;
+import com.example.demo.entities.TaskStatus;
+
+/**
+ * Flat read-only projection of a task with its author and assignee emails.
+ */
+public record TaskRow(Long id,
+                      String title,
+                      String description,
+                      TaskStatus status,
+                      TaskPriority priority,
+                      String authorEmail,
+                      String assigneeEmail) {
+}
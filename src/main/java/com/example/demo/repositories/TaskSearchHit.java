@@ -0,0 +1,7 @@
+package com.example.demo.repositories;
+
+/**
+ * A full-text search match: the task id and its rank, which together are also a keyset position.
+ */
+public record TaskSearchHit(Long id, float rank) {
+}
@@ -0,0 +1,7 @@
+package com.example.demo.repositories;
+
+/**
+ * Task id and title, all the in-memory title index needs.
+ */
+public record TaskTitleRow(Long id, String title) {
+}
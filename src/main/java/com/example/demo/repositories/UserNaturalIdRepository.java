@@ -0,0 +1,12 @@
+package com.example.demo.repositories;
+
+import com.example.demo.entities.User;
+
+import java.util.Optional;
+
+/**
+ * Email lookups through Hibernate's natural-id API, so they are answered from the natural-id cache.
+ */
+public interface UserNaturalIdRepository {
+    Optional<User> findByEmail(String email);
+}
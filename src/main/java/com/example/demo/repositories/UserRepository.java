@@ -2,10 +2,15 @@ package com.example.demo.repositories;
 
 import com.example.demo.entities.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.Optional;
 
-public interface UserRepository extends JpaRepository<User, Long> {
-    Optional<User> findByEmail(String email);
-}
+public interface UserRepository extends JpaRepository<User, Long>, UserNaturalIdRepository {
+    // findByEmail comes from UserNaturalIdRepository and is served by the second-level cache
 
+    // Only the id, for turning email filters into foreign key filters
+    @Query("select u.id from User u where u.email = :email")
+    Optional<Long> findIdByEmail(@Param("email") String email);
+}
@@ -8,33 +8,62 @@ import org.springframework.security.core.userdetails.UserDetails;
 
 import java.util.Collection;
 import java.util.Collections;
-import java.util.stream.Collectors;
 
+/**
+ * Immutable snapshot of the fields authentication needs. It is cached and shared between requests,
+ * so it never holds the User entity itself.
+ */
 public class CustomUserDetails implements UserDetails {
 
-    private final User user;
+    private final Long id;
+    private final String email;
+    private final Role role;
+    private final String password;
 
     public CustomUserDetails(User user) {
         if (user == null) {
             throw new IllegalArgumentException("User cannot be null");
         }
-        this.user = user;
+        this.id = user.getId();
+        this.email = user.getEmail();
+        this.role = user.getRole();
+        this.password = user.getPassword();
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Role getRole() {
+        return role;
+    }
+
+    /**
+     * A new detached User with the id, email and role, never shared between callers.
+     * Use UserRepository.getReferenceById(id) to attach it to an association.
+     */
+    public User toUser() {
+        User user = new User();
+        user.setId(id);
+        user.setEmail(email);
+        user.setRole(role);
+        return user;
     }
 
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
-        // Map the single role from the User entity to a GrantedAuthority object
-        return Collections.singletonList(new SimpleGrantedAuthority(user.getRole().name()));
+        // Map the single role to a GrantedAuthority object
+        return Collections.singletonList(new SimpleGrantedAuthority(role.name()));
     }
 
     @Override
     public String getPassword() {
-        return user.getPassword();
+        return password;
     }
 
     @Override
     public String getUsername() {
-        return user.getEmail();
+        return email;
     }
 
     @Override
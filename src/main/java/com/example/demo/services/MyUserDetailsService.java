@@ -2,19 +2,99 @@ package com.example.demo.services;
 
 import com.example.demo.entities.User;
 import com.example.demo.repositories.UserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
 
 @Service
-public class MyUserDetailsService implements UserDetailsService {
+public class MyUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${security.user-cache.max-size:10000}")
+    private long cacheMaxSize;
+
+    @Value("${security.user-cache.ttl:5m}")
+    private Duration cacheTtl;
+
+    private Cache<String, CustomUserDetails> cache;
+
+    private Counter invalidations;
+
+    @PostConstruct
+    void initCache() {
+        cache = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfterWrite(cacheTtl)
+                .recordStats()
+                .build();
+
+        // Publishes cache.gets{result=hit|miss}, cache.evictions and cache.size for sizing
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "userDetails");
+        invalidations = Counter.builder("cache.invalidations")
+                .tag("cache", "userDetails")
+                .description("Entries removed because the user was written")
+                .register(meterRegistry);
+    }
+
     @Override
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
+        // Unknown emails are not cached, the lookup throws before anything is stored
+        return cache.get(email, this::loadFromDatabase);
+    }
+
+    /**
+     * Store a re-encoded hash after a successful login, when the stored cost differs from the calibrated one.
+     */
+    @Override
+    public UserDetails updatePassword(UserDetails userDetails, String newPassword) {
+        User user = userRepository.findByEmail(userDetails.getUsername())
+                .orElseThrow(() -> new UsernameNotFoundException("User not found: " + userDetails.getUsername()));
+
+        user.setPassword(newPassword);
+        userRepository.save(user);
+        evict(user.getEmail());
+
+        return new CustomUserDetails(user);
+    }
+
+    /**
+     * Drop the cached entry after a write to the user, so the next lookup sees the new password or role,
+     * or fails for a deleted user.
+     */
+    public void evict(String email) {
+        cache.invalidate(email);
+        invalidations.increment();
+
+        // Inside a transaction, evict again once it ends: a lookup before the commit may have cached the old row
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    cache.invalidate(email);
+                }
+            });
+        }
+    }
+
+    private CustomUserDetails loadFromDatabase(String email) {
         User user = userRepository.findByEmail(email)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found: " + email));
 
@@ -22,4 +102,3 @@ public class MyUserDetailsService implements UserDetailsService {
         return new CustomUserDetails(user);
     }
 }
-
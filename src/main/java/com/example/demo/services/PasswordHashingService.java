@@ -0,0 +1,87 @@
+package com.example.demo.services;
+
+import com.example.demo.exceptions.ServiceBusyException;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Runs BCrypt work on a dedicated bounded pool, so login bursts cannot starve the request threads.
+ */
+@Service
+public class PasswordHashingService {
+
+    // 0 means one thread per available processor
+    @Value("${security.hashing.pool-size:0}")
+    private int poolSize;
+
+    @Value("${security.hashing.queue-capacity:100}")
+    private int queueCapacity;
+
+    @Value("${security.hashing.retry-after-seconds:1}")
+    private long retryAfterSeconds;
+
+    // Threads a bulk job may occupy, 0 means half of the pool so logins keep being served
+    @Value("${security.hashing.bulk-parallelism:0}")
+    private int bulkParallelism;
+
+    private ThreadPoolExecutor executor;
+
+    @PostConstruct
+    void start() {
+        int threads = poolSize > 0 ? poolSize : Runtime.getRuntime().availableProcessors();
+        executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                new CustomizableThreadFactory("password-hashing-"),
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @PreDestroy
+    void stop() {
+        executor.shutdown();
+    }
+
+    /**
+     * Queue password hashing work, or fail fast with a 503 when the queue is full.
+     */
+    public <T> CompletableFuture<T> submit(Supplier<T> task) {
+        try {
+            return CompletableFuture.supplyAsync(task, executor);
+        } catch (RejectedExecutionException ex) {
+            throw new ServiceBusyException("Too many concurrent authentication requests, please retry later", retryAfterSeconds);
+        }
+    }
+
+    /**
+     * Apply a hashing function to every item in parallel and return the results in input order.
+     * The items are split into a few contiguous chunks, so a bulk job takes only a handful of queue slots.
+     */
+    public <T, R> List<R> mapAll(List<T> items, Function<T, R> hashFunction) {
+        int parallelism = bulkParallelism > 0 ? bulkParallelism : Math.max(1, executor.getMaximumPoolSize() / 2);
+        int chunkSize = Math.max(1, (items.size() + parallelism - 1) / parallelism);
+
+        List<CompletableFuture<List<R>>> chunks = new ArrayList<>();
+        for (int from = 0; from < items.size(); from += chunkSize) {
+            List<T> chunk = items.subList(from, Math.min(items.size(), from + chunkSize));
+            chunks.add(submit(() -> chunk.stream().map(hashFunction).toList()));
+        }
+
+        List<R> results = new ArrayList<>(items.size());
+        for (CompletableFuture<List<R>> chunk : chunks) {
+            results.addAll(chunk.join());
+        }
+        return results;
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.demo.services;
+
+import com.example.demo.dto.TokenResponseDTO;
+import com.example.demo.entities.RefreshToken;
+import com.example.demo.entities.User;
+import com.example.demo.exceptions.AuthenticationException;
+import com.example.demo.repositories.RefreshTokenRepository;
+import com.example.demo.utils.JwtUtil;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+@Service
+public class RefreshTokenService {
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Value("${jwt.refresh-token-ttl:14d}")
+    private Duration refreshTokenTtl;
+
+    private final SecureRandom secureRandom = new SecureRandom();
+
+    /**
+     * Issue a short-lived access token and a new opaque refresh token for the user.
+     */
+    public TokenResponseDTO issueTokens(User user) {
+        byte[] bytes = new byte[32];
+        secureRandom.nextBytes(bytes);
+        String refreshToken = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        RefreshToken stored = new RefreshToken();
+        stored.setTokenHash(hash(refreshToken));
+        stored.setUser(user);
+        stored.setExpiresAt(LocalDateTime.now().plus(refreshTokenTtl));
+        refreshTokenRepository.save(stored);
+
+        return new TokenResponseDTO("Bearer", jwtUtil.generateToken(user), refreshToken,
+                jwtUtil.getAccessTokenTtl().toSeconds());
+    }
+
+    /**
+     * Exchange a refresh token for a new token pair. The presented token is consumed (rotated),
+     * so it can be used only once. No password hash is involved.
+     */
+    public TokenResponseDTO refresh(String refreshToken) {
+        RefreshToken stored = refreshTokenRepository.findByTokenHash(hash(refreshToken))
+                .orElseThrow(() -> new AuthenticationException("Invalid refresh token"));
+
+        // Only one of two concurrent refreshes with the same token can delete it
+        if (refreshTokenRepository.consume(stored.getId()) == 0) {
+            throw new AuthenticationException("Invalid refresh token");
+        }
+        if (stored.getExpiresAt().isBefore(LocalDateTime.now())) {
+            throw new AuthenticationException("Refresh token expired");
+        }
+
+        return issueTokens(stored.getUser());
+    }
+
+    /**
+     * Invalidate a refresh token on logout. A token that belongs to another user is left untouched.
+     */
+    public void revoke(String refreshToken, Long userId) {
+        refreshTokenRepository.deleteByTokenHashAndUserId(hash(refreshToken), userId);
+    }
+
+    /**
+     * Purge expired refresh tokens.
+     */
+    @Scheduled(fixedDelayString = "${jwt.refresh-token-cleanup-interval:PT1H}")
+    public void deleteExpiredTokens() {
+        refreshTokenRepository.deleteExpired(LocalDateTime.now());
+    }
+
+    private static String hash(String refreshToken) {
+        return DigestUtils.sha256Hex(refreshToken);
+    }
+}
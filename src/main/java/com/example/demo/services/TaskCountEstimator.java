@@ -0,0 +1,89 @@
+package com.example.demo.services;
+
+import com.example.demo.entities.Task;
+import com.example.demo.repositories.TaskRepository;
+import com.example.demo.utils.DatabasePlatform;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Approximate task totals for list endpoints that do not need an exact count.
+ * Unfiltered listings read the Postgres planner statistics for the tasks table; filtered ones
+ * (and other databases) run the real count at most once per filter per TTL.
+ */
+@Component
+public class TaskCountEstimator {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskCountEstimator.class);
+
+    private static final String UNFILTERED_KEY = "";
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DatabasePlatform databasePlatform;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${tasks.count-cache.max-size:1000}")
+    private long cacheMaxSize;
+
+    @Value("${tasks.count-cache.ttl:30s}")
+    private Duration cacheTtl;
+
+    private Cache<String, Long> counts;
+
+    @PostConstruct
+    void init() {
+        counts = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfterWrite(cacheTtl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, counts, "taskCounts");
+    }
+
+    /**
+     * Estimate the number of tasks matching the filter. An empty filter key means an unfiltered listing.
+     */
+    public long estimate(String filterKey, Specification<Task> spec) {
+        if (UNFILTERED_KEY.equals(filterKey) && databasePlatform.isPostgres()) {
+            Long planned = readPlannerEstimate();
+            if (planned != null) {
+                return planned;
+            }
+        }
+        return counts.get(filterKey, key -> taskRepository.count(spec));
+    }
+
+    /**
+     * Row estimate kept by ANALYZE/autovacuum; -1 (or 0 before the first analyze) means unknown.
+     */
+    private Long readPlannerEstimate() {
+        try {
+            Long estimate = jdbcTemplate.queryForObject(
+                    "SELECT reltuples::bigint FROM pg_class WHERE oid = 'tasks'::regclass", Long.class);
+            return estimate != null && estimate > 0 ? estimate : null;
+        } catch (RuntimeException ex) {
+            logger.warn("Could not read planner statistics for tasks, falling back to a cached count", ex);
+            return null;
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.demo.services;
+
+import com.example.demo.exceptions.InvalidRequestException;
+import com.example.demo.utils.TaskCursor;
+import com.example.demo.utils.TaskView;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+/**
+ * Guards the task listings against requests that are known to be expensive: oversized pages, deep offsets,
+ * and sorts that no index can serve. Rejections are 400s that tell the client what to do instead.
+ * Statement timeouts are applied separately, per endpoint, through the transactions in TaskService.
+ */
+@Component
+public class TaskQueryGovernor {
+
+    private final int maxPageSize;
+
+    private final int maxExpandedPageSize;
+
+    private final long maxOffset;
+
+    private final int maxBatchSize;
+
+    public TaskQueryGovernor(@Value("${tasks.query.max-page-size:100}") int maxPageSize,
+                             @Value("${tasks.query.max-expanded-page-size:50}") int maxExpandedPageSize,
+                             @Value("${tasks.query.max-offset:10000}") long maxOffset,
+                             @Value("${tasks.query.max-batch-size:200}") int maxBatchSize) {
+        this.maxPageSize = maxPageSize;
+        this.maxExpandedPageSize = maxExpandedPageSize;
+        this.maxOffset = maxOffset;
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    /**
+     * Check an offset page: its size, how deep it reaches, and its sort.
+     */
+    public void checkPage(Pageable pageable, TaskView view) {
+        if (pageable.isUnpaged()) {
+            throw new InvalidRequestException("Task listings must be paged");
+        }
+        checkSize(pageable.getPageSize(), view);
+        if (pageable.getOffset() > maxOffset) {
+            // The database still reads and discards every skipped row
+            throw new InvalidRequestException("Offset " + pageable.getOffset() + " exceeds the limit of " + maxOffset
+                    + "; use cursor pagination (after=) to read further");
+        }
+        checkSort(pageable.getSort());
+    }
+
+    /**
+     * Check the size of one page; pages that embed comments are capped lower since every task adds its comments.
+     */
+    public void checkSize(int size, TaskView view) {
+        if (size > maxPageSize) {
+            throw new InvalidRequestException("Page size " + size + " exceeds the limit of " + maxPageSize
+                    + "; use cursor pagination (after=) to read more tasks");
+        }
+        if (view.comments() && size > maxExpandedPageSize) {
+            throw new InvalidRequestException("Page size " + size + " exceeds the limit of " + maxExpandedPageSize
+                    + " when comments are expanded");
+        }
+    }
+
+    /**
+     * Check the number of ids in one multi-get; they all end up in the same IN lists.
+     */
+    public void checkBatchSize(int size) {
+        if (size > maxBatchSize) {
+            throw new InvalidRequestException("At most " + maxBatchSize + " tasks can be fetched at once, got " + size);
+        }
+    }
+
+    /**
+     * Only sorts backed by an index are allowed; anything else makes the database sort the whole filtered set.
+     */
+    public void checkSort(Sort sort) {
+        for (Sort.Order order : sort) {
+            if (!TaskCursor.SORT_KEYS.contains(order.getProperty())) {
+                throw new InvalidRequestException("Sorting by '" + order.getProperty()
+                        + "' is not supported because no index backs it; sortable fields are " + TaskCursor.SORT_KEYS);
+            }
+        }
+    }
+}
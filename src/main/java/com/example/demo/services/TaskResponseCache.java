@@ -0,0 +1,155 @@
+package com.example.demo.services;
+
+import com.example.demo.dto.CommentResponseDTO;
+import com.example.demo.dto.TaskResponseDTO;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Function;
+
+/**
+ * Bounded cache of fully mapped task responses (all fields and comments), keyed by task id.
+ * Entries are weighed by their approximate heap size, so the bound is in bytes rather than entries.
+ * TaskService invalidates an entry whenever the task or its comments are written; the TTL only
+ * covers changes it cannot see, such as a user's email changing.
+ */
+@Component
+public class TaskResponseCache {
+
+    private static final String NAME = "taskResponses";
+
+    // Invalidation generations, striped by task id so memory stays fixed; a power of two
+    private static final int GENERATION_STRIPES = 1024;
+
+    private final Cache<Long, TaskResponseDTO> cache;
+
+    private final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
+
+    private final Counter invalidations;
+
+    public TaskResponseCache(@Value("${tasks.response-cache.max-weight:50MB}") DataSize maxWeight,
+                             @Value("${tasks.response-cache.ttl:10m}") Duration ttl,
+                             MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxWeight.toBytes())
+                .weigher((Long id, TaskResponseDTO dto) -> weigh(dto))
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+
+        // Publishes cache.gets{result=hit|miss}, cache.evictions and cache.size
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, NAME);
+        Gauge.builder("cache.weighted.size", cache, c -> c.policy().eviction().map(e -> e.weightedSize().orElse(0)).orElse(0L))
+                .tag("cache", NAME)
+                .description("Approximate bytes held by cached task responses")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        this.invalidations = Counter.builder("cache.invalidations")
+                .tag("cache", NAME)
+                .description("Entries removed because the task or its comments were written")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Cached response for the task, loading it on a miss. A loader returning null (task not found) caches nothing.
+     */
+    public TaskResponseDTO get(Long taskId, Function<Long, TaskResponseDTO> loader) {
+        return cache.get(taskId, loader);
+    }
+
+    /**
+     * Cached responses for the tasks, loading all misses with one call. Missing tasks are absent from the result.
+     * Unlike single-key loads, a bulk load is not locked per key, so a response is only cached if its task was
+     * not invalidated while the load ran; otherwise it is returned to this caller but not kept.
+     */
+    public Map<Long, TaskResponseDTO> getAll(Iterable<Long> taskIds, Function<List<Long>, Map<Long, TaskResponseDTO>> loader) {
+        Map<Long, TaskResponseDTO> responses = new HashMap<>(cache.getAllPresent(taskIds));
+        List<Long> missing = new ArrayList<>();
+        Map<Long, Long> generationsBefore = new HashMap<>();
+        for (Long taskId : taskIds) {
+            if (!responses.containsKey(taskId) && !generationsBefore.containsKey(taskId)) {
+                missing.add(taskId);
+                generationsBefore.put(taskId, generations.get(stripe(taskId)));
+            }
+        }
+        if (missing.isEmpty()) {
+            return responses;
+        }
+
+        loader.apply(missing).forEach((taskId, dto) -> {
+            responses.put(taskId, dto);
+            long before = generationsBefore.getOrDefault(taskId, -1L);
+            if (generations.get(stripe(taskId)) == before) {
+                cache.put(taskId, dto);
+                // An invalidation that raced the put has bumped the generation first, so undo the put
+                if (generations.get(stripe(taskId)) != before) {
+                    cache.asMap().remove(taskId, dto);
+                }
+            }
+        });
+        return responses;
+    }
+
+    /**
+     * Only the responses already cached; nothing is loaded.
+     */
+    public Map<Long, TaskResponseDTO> getAllPresent(Iterable<Long> taskIds) {
+        return cache.getAllPresent(taskIds);
+    }
+
+    public void invalidate(Long taskId) {
+        evict(taskId);
+        invalidations.increment();
+
+        // Inside a write transaction, evict again once it ends: a read between now and the commit may have cached the old state
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evict(taskId);
+                }
+            });
+        }
+    }
+
+    // The generation moves before the entry goes, so a bulk load that read the old state cannot keep it
+    private void evict(Long taskId) {
+        generations.incrementAndGet(stripe(taskId));
+        cache.invalidate(taskId);
+    }
+
+    private static int stripe(Long taskId) {
+        return Long.hashCode(taskId) & (GENERATION_STRIPES - 1);
+    }
+
+    // Rough heap estimate: object headers and fields plus two bytes per string character
+    private static int weigh(TaskResponseDTO dto) {
+        long bytes = 96 + chars(dto.getTitle()) + chars(dto.getDescription()) + chars(dto.getStatus())
+                + chars(dto.getPriority()) + chars(dto.getAuthorEmail()) + chars(dto.getAssigneeEmail());
+        if (dto.getComments() != null) {
+            for (CommentResponseDTO comment : dto.getComments()) {
+                bytes += 80 + chars(comment.getContent()) + chars(comment.getAuthorEmail());
+            }
+        }
+        return (int) Math.min(bytes, Integer.MAX_VALUE);
+    }
+
+    private static long chars(String value) {
+        return value != null ? 40 + 2L * value.length() : 0;
+    }
+}
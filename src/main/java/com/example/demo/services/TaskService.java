@@ -1,23 +1,54 @@
 package com.example.demo.services;
 
+import com.example.demo.config.ReplicaRead;
+import com.example.demo.config.ReplicaRoutingDataSource;
 import com.example.demo.dto.CommentResponseDTO;
+import com.example.demo.dto.CursorPageDTO;
+import com.example.demo.dto.SliceResponseDTO;
+import com.example.demo.dto.TaskBatchResponseDTO;
+import com.example.demo.dto.TaskFilterDTO;
+import com.example.demo.dto.TaskSuggestionDTO;
 import com.example.demo.dto.TaskRequestDTO;
 import com.example.demo.dto.CommentRequestDTO;
 import com.example.demo.dto.TaskResponseDTO;
 import com.example.demo.entities.*;
 import com.example.demo.exceptions.*;
 import com.example.demo.repositories.CommentRepository;
+import com.example.demo.repositories.CommentRow;
+import com.example.demo.repositories.TaskAccessRow;
 import com.example.demo.repositories.TaskRepository;
+import com.example.demo.repositories.TaskRow;
+import com.example.demo.repositories.TaskSearchHit;
 import com.example.demo.repositories.UserRepository;
 import com.example.demo.specifications.TaskSpecifications;
+import com.example.demo.utils.CommentCursor;
+import com.example.demo.utils.DatabasePlatform;
+import com.example.demo.utils.SearchCursor;
+import com.example.demo.utils.TaskCursor;
 import com.example.demo.utils.TaskMapper;
+import com.example.demo.utils.TaskView;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.InvalidDataAccessApiUsageException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.mapping.PropertyReferenceException;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -35,6 +66,25 @@ public class TaskService {
     @Autowired
     private TaskMapper taskMapper;
 
+    @Autowired
+    private TaskCountEstimator taskCountEstimator;
+
+    @Autowired
+    private DatabasePlatform databasePlatform;
+
+    @Autowired
+    private TaskTitleIndex taskTitleIndex;
+
+    @Autowired
+    private TaskResponseCache taskResponseCache;
+
+    @Autowired
+    private UserIdResolver userIdResolver;
+
+    // Present only when a read replica is configured
+    @Autowired(required = false)
+    private ReplicaRoutingDataSource replicaRoutingDataSource;
+
     public TaskMapper getTaskMapper() {
         return taskMapper;
     }
@@ -42,8 +92,9 @@ public class TaskService {
     /**
      * Update status for an existing task by both admin and users.
      */
+    @Transactional
     public Task updateTaskStatus(Long taskId, TaskStatus status, User user, boolean isAdmin) {
-        Task task = taskRepository.findById(taskId)
+        Task task = taskRepository.findForMutationById(taskId)
                 .orElseThrow(() -> new TaskNotFoundException("Task not found"));
 
         if (isAdmin) {
@@ -51,13 +102,23 @@ public class TaskService {
                 throw new UnauthorizedActionException("Only admins can update task status globally");
             }
         } else {
-            if (task.getAssignee() == null || !task.getAssignee().equals(user) || !Role.ROLE_USER.equals(user.getRole())) {
+            if (!isAssignee(task, user) || !Role.ROLE_USER.equals(user.getRole())) {
                 throw new UnauthorizedActionException("Only the assigned user can update this task's status");
             }
         }
 
         task.setStatus(status);
-        return taskRepository.save(task);
+        Task saved = taskRepository.save(task);
+        taskResponseCache.invalidate(taskId);
+        return saved;
+    }
+
+    /**
+     * Compare by id, since the logged-in user may be a detached reference built from token claims.
+     */
+    private boolean isAssignee(Task task, User user) {
+        return task.getAssignee() != null && user != null && user.getId() != null
+                && user.getId().equals(task.getAssignee().getId());
     }
 
     // ----------------------------- USER SERVICE -----------------------------
@@ -65,55 +126,121 @@ public class TaskService {
     /**
      * Add a comment to a task.
      */
+    @Transactional
     public Comment addCommentToTask(Long taskId, CommentRequestDTO request, User loggedInUser) {
         if (loggedInUser == null || !Role.ROLE_USER.equals(loggedInUser.getRole())) {
             throw new UnauthorizedActionException("Only users can add comments to tasks");
         }
 
-        Task task = taskRepository.findById(taskId)
+        Task task = taskRepository.findForMutationById(taskId)
                 .orElseThrow(() -> new TaskNotFoundException("Task with ID " + taskId + " not found"));
 
-        if (!task.getAssignee().equals(loggedInUser)) {
+        if (!isAssignee(task, loggedInUser)) {
             throw new UnauthorizedActionException("Only the assigned user can add comments to this task");
         }
 
         Comment comment = new Comment();
         comment.setContent(request.getContent());
         comment.setTask(task);
-        comment.setAuthor(loggedInUser);
+        comment.setAuthor(userRepository.getReferenceById(loggedInUser.getId()));
 
-        return commentRepository.save(comment);
+        Comment saved = commentRepository.save(comment);
+        taskResponseCache.invalidate(taskId);
+        return saved;
     }
 
     /**
      * Get comments for all tasks.
      */
+    @Transactional(readOnly = true)
+    @ReplicaRead
     public List<CommentResponseDTO> getCommentsForTask(Long taskId, User loggedInUser) {
+        checkCommentAccess(taskId, loggedInUser);
+
+        return commentRepository.findRowsByTaskId(taskId, Pageable.unpaged())
+                .stream()
+                .map(taskMapper::mapToCommentResponseDTO)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Get comments for a task one keyset page at a time, oldest first. An empty cursor starts from the first comment.
+     */
+    @Transactional(readOnly = true, timeoutString = "${tasks.query.list-timeout:5}")
+    @ReplicaRead
+    public CursorPageDTO<CommentResponseDTO> getCommentsForTask(Long taskId, User loggedInUser, String after, int size) {
+        checkCommentAccess(taskId, loggedInUser);
+
+        // One extra row tells whether another page follows
+        Pageable limit = PageRequest.of(0, size + 1);
+        List<CommentRow> rows;
+        if (after == null || after.isBlank()) {
+            rows = commentRepository.findRowsByTaskId(taskId, limit);
+        } else {
+            CommentCursor cursor = CommentCursor.decode(after);
+            rows = commentRepository.findRowsByTaskIdAfter(taskId, cursor.createdAt(), cursor.id(), limit);
+        }
+
+        boolean hasNext = rows.size() > size;
+        List<CommentRow> page = hasNext ? rows.subList(0, size) : rows;
+        List<CommentResponseDTO> content = page.stream()
+                .map(taskMapper::mapToCommentResponseDTO)
+                .collect(Collectors.toList());
+        String nextCursor = hasNext ? CommentCursor.of(page.get(page.size() - 1)).encode() : null;
+        return new CursorPageDTO<>(content, nextCursor);
+    }
+
+    /**
+     * Only the assignee may read a task's comments; existence and assignment are checked with one query.
+     */
+    private void checkCommentAccess(Long taskId, User loggedInUser) {
         if (loggedInUser == null || !Role.ROLE_USER.equals(loggedInUser.getRole())) {
             throw new UnauthorizedActionException("Only users can fetch comments for tasks");
         }
 
-        Task task = taskRepository.findById(taskId)
+        TaskAccessRow access = taskRepository.findAccessRowById(taskId)
                 .orElseThrow(() -> new TaskNotFoundException("Task with ID " + taskId + " not found"));
+        if (access.assigneeId() == null || !access.assigneeId().equals(loggedInUser.getId())) {
+            throw new UnauthorizedActionException("Only the assigned user can fetch comments for this task");
+        }
+    }
 
-        return commentRepository.findByTask(task)
-                .stream()
-                .map(taskMapper::mapToCommentResponseDTO)
-                .collect(Collectors.toList());
+    /**
+     * Get one page of the tasks assigned to a user, optionally filtered by status and priority.
+     */
+    @Transactional(readOnly = true, timeoutString = "${tasks.query.list-timeout:5}")
+    @ReplicaRead
+    public Page<TaskResponseDTO> getTasksAssignedToUser(User user, TaskStatus status, TaskPriority priority, Pageable pageable, TaskView view) {
+        Specification<Task> spec = buildAssignedFilter(user, status, priority);
+
+        // Same fixed query plan as the admin listing: ids, flat rows, optional comments, count only when needed
+        List<Long> ids = taskRepository.findTaskIds(spec, pageable);
+        return PageableExecutionUtils.getPage(loadTaskResponses(ids, view), pageable, () -> taskRepository.count(spec));
     }
 
     /**
-     * Get all tasks assigned to a user.
+     * Get tasks assigned to a user, one keyset page at a time.
      */
-    public List<TaskResponseDTO> getTasksAssignedToUser(User user) {
+    @Transactional(readOnly = true, timeoutString = "${tasks.query.list-timeout:5}")
+    @ReplicaRead
+    public CursorPageDTO<TaskResponseDTO> getTasksAssignedToUser(User user, TaskStatus status, TaskPriority priority,
+                                                                 String after, Sort sort, int size, TaskView view) {
+        return getKeysetPage(buildAssignedFilter(user, status, priority), after, sort, size, view);
+    }
+
+    private Specification<Task> buildAssignedFilter(User user, TaskStatus status, TaskPriority priority) {
         if (user == null || !Role.ROLE_USER.equals(user.getRole())) {
             throw new UnauthorizedActionException("Only users can fetch their assigned tasks");
         }
 
-        return taskRepository.findByAssigneeId(user.getId())
-                .stream()
-                .map(taskMapper::mapToTaskResponseDTO)
-                .collect(Collectors.toList());
+        Specification<Task> spec = TaskSpecifications.hasAssigneeId(user.getId());
+        if (status != null) {
+            spec = spec.and(TaskSpecifications.hasStatus(status));
+        }
+        if (priority != null) {
+            spec = spec.and(TaskSpecifications.hasPriority(priority));
+        }
+        return spec;
     }
 
     // ----------------------------- ADMIN SERVICE -----------------------------
@@ -121,17 +248,21 @@ public class TaskService {
     /**
      * Update priority for an existing task.
      */
+    @Transactional
     public Task updateTaskPriority(Long taskId, TaskPriority priority) {
-        Task task = taskRepository.findById(taskId)
+        Task task = taskRepository.findForMutationById(taskId)
                 .orElseThrow(() -> new TaskNotFoundException("Task not found"));
 
         task.setPriority(priority);
-        return taskRepository.save(task);
+        Task saved = taskRepository.save(task);
+        taskResponseCache.invalidate(taskId);
+        return saved;
     }
 
     /**
      * Create a new task.
      */
+    @Transactional
     public Task createTask(TaskRequestDTO request, User author) {
         try {
             Task task = new Task();
@@ -139,7 +270,8 @@ public class TaskService {
             task.setDescription(request.getDescription());
             task.setPriority(TaskPriority.valueOf(request.getPriority().toUpperCase()));
             task.setStatus(TaskStatus.valueOf(request.getStatus().toUpperCase()));
-            task.setAuthor(author);
+            // A fresh reference: the caller's User is a detached copy built from the token or the cached user details
+            task.setAuthor(userRepository.getReferenceById(author.getId()));
 
             if (request.getAssigneeId() != null) {
                 User assignee = userRepository.findById(request.getAssigneeId())
@@ -147,7 +279,11 @@ public class TaskService {
                 task.setAssignee(assignee);
             }
 
-            return taskRepository.save(task);
+            Task saved = taskRepository.save(task);
+            Long savedId = saved.getId();
+            String title = saved.getTitle();
+            afterCommit(() -> taskTitleIndex.put(savedId, title));
+            return saved;
         } catch (IllegalArgumentException ex) {
             throw new InvalidRequestException("Invalid priority or status value");
         }
@@ -157,8 +293,9 @@ public class TaskService {
     /**
      * Update an existing task.
      */
+    @Transactional
     public Task updateTask(Long id, TaskRequestDTO request) {
-        Task task = taskRepository.findById(id)
+        Task task = taskRepository.findForMutationById(id)
                 .orElseThrow(() -> new TaskNotFoundException("Task with ID " + id + " not found"));
 
         try {
@@ -173,7 +310,11 @@ public class TaskService {
                 task.setAssignee(assignee);
             }
 
-            return taskRepository.save(task);
+            Task saved = taskRepository.save(task);
+            String title = saved.getTitle();
+            afterCommit(() -> taskTitleIndex.put(id, title));
+            taskResponseCache.invalidate(id);
+            return saved;
         } catch (IllegalArgumentException ex) {
             throw new InvalidRequestException("Invalid priority or status value");
         }
@@ -182,41 +323,335 @@ public class TaskService {
     /**
      * Delete a task.
      */
+    @Transactional
     public void deleteTask(Long id) {
         // Ensure the task exists
-        Task task = taskRepository.findById(id)
+        Task task = taskRepository.findForMutationById(id)
                 .orElseThrow(() -> new TaskNotFoundException("Task with ID " + id + " not found"));
 
         // Delete the task
         taskRepository.delete(task);
+        afterCommit(() -> taskTitleIndex.remove(id));
+        taskResponseCache.invalidate(id);
+    }
+
+    /**
+     * Get a single task with its comments, served from the response cache when possible.
+     * Deliberately not a replica read: it answers right after writes (PATCH/PUT) and fills the cache,
+     * so it must read the primary rather than a replica that may lag behind.
+     */
+    @Transactional(readOnly = true)
+    public TaskResponseDTO getTask(Long id) {
+        // One query through the detail graph; the mapper then walks only initialized associations
+        TaskResponseDTO task = taskResponseCache.get(id, key -> taskRepository.findDetailById(key)
+                .map(taskMapper::mapToTaskResponseDTO)
+                .orElse(null));
+        if (task == null) {
+            throw new TaskNotFoundException("Task with ID " + id + " not found");
+        }
+        return task;
+    }
+
+    /**
+     * Get many tasks with their comments in one call. Access is checked per task: admins may read any task,
+     * users only the tasks assigned to them. Costs one access query plus, for tasks missing from the response
+     * cache, one row query and one comment query, however many ids are requested.
+     */
+    @Transactional(readOnly = true, timeoutString = "${tasks.query.list-timeout:5}")
+    @ReplicaRead
+    public TaskBatchResponseDTO getTasks(List<Long> ids, User loggedInUser) {
+        List<Long> requested = ids.stream().filter(Objects::nonNull).distinct().toList();
+        Map<Long, TaskAccessRow> access = taskRepository.findAccessRowsByIdIn(requested)
+                .stream()
+                .collect(Collectors.toMap(TaskAccessRow::taskId, Function.identity()));
+        boolean isAdmin = Role.ROLE_ADMIN.equals(loggedInUser.getRole());
+
+        List<Long> allowedIds = new ArrayList<>();
+        List<Long> missingIds = new ArrayList<>();
+        List<Long> deniedIds = new ArrayList<>();
+        for (Long id : requested) {
+            TaskAccessRow row = access.get(id);
+            if (row == null) {
+                missingIds.add(id);
+            } else if (isAdmin || loggedInUser.getId().equals(row.assigneeId())) {
+                allowedIds.add(id);
+            } else {
+                deniedIds.add(id);
+            }
+        }
+        return new TaskBatchResponseDTO(loadTaskResponses(allowedIds, TaskView.FULL), missingIds, deniedIds);
     }
 
     /**
      * Retrieve all tasks with optional pagination.
      */
-    public Page<TaskResponseDTO> getAllTasks(String authorEmail, String assigneeEmail, TaskStatus status, TaskPriority priority, Pageable pageable) {
+    @Transactional(readOnly = true, timeoutString = "${tasks.query.list-timeout:5}")
+    @ReplicaRead
+    public Page<TaskResponseDTO> getAllTasks(TaskFilterDTO filter, Pageable pageable, TaskView view) {
+        Specification<Task> spec = buildFilter(filter);
+
+        try {
+            // A fixed number of queries per page: ids, flat rows, comments, and the count only when it is needed
+            List<Long> ids = taskRepository.findTaskIds(spec, pageable);
+            return PageableExecutionUtils.getPage(loadTaskResponses(ids, view), pageable, () -> taskRepository.count(spec));
+        } catch (PropertyReferenceException | InvalidDataAccessApiUsageException ex) {
+            // Only a bad sort or paging request is the client's fault; timeouts and other data access errors propagate
+            throw new InvalidRequestException("Error occurred while fetching tasks. Please check your filters or pagination parameters.");
+        }
+    }
+
+    /**
+     * Retrieve one page of tasks without counting them; one extra row tells whether another page follows.
+     */
+    @Transactional(readOnly = true, timeoutString = "${tasks.query.list-timeout:5}")
+    @ReplicaRead
+    public SliceResponseDTO<TaskResponseDTO> getAllTasksSlice(TaskFilterDTO filter, Pageable pageable, TaskView view) {
+        Specification<Task> spec = buildFilter(filter);
+
+        try {
+            List<Long> ids = taskRepository.findTaskIds(spec, pageable.getOffset(), pageable.getPageSize() + 1, pageable.getSort());
+            boolean hasNext = ids.size() > pageable.getPageSize();
+            List<TaskResponseDTO> content = loadTaskResponses(hasNext ? ids.subList(0, pageable.getPageSize()) : ids, view);
+            return new SliceResponseDTO<>(content, pageable.getPageNumber(), pageable.getPageSize(), hasNext);
+        } catch (PropertyReferenceException | InvalidDataAccessApiUsageException ex) {
+            // Only a bad sort or paging request is the client's fault; timeouts and other data access errors propagate
+            throw new InvalidRequestException("Error occurred while fetching tasks. Please check your filters or pagination parameters.");
+        }
+    }
+
+    /**
+     * Retrieve one page of tasks with an estimated total instead of an exact count.
+     */
+    @Transactional(readOnly = true, timeoutString = "${tasks.query.list-timeout:5}")
+    @ReplicaRead
+    public Page<TaskResponseDTO> getAllTasksEstimated(TaskFilterDTO filter, Pageable pageable, TaskView view) {
+        Specification<Task> spec = buildFilter(filter);
+        String filterKey = filterKey(filter);
+
+        try {
+            List<TaskResponseDTO> content = loadTaskResponses(taskRepository.findTaskIds(spec, pageable), view);
+            // PageImpl corrects the estimate on a short last page
+            return new PageImpl<>(content, pageable, taskCountEstimator.estimate(filterKey, spec));
+        } catch (PropertyReferenceException | InvalidDataAccessApiUsageException ex) {
+            // Only a bad sort or paging request is the client's fault; timeouts and other data access errors propagate
+            throw new InvalidRequestException("Error occurred while fetching tasks. Please check your filters or pagination parameters.");
+        }
+    }
+
+    /**
+     * Retrieve all tasks one keyset page at a time. An empty cursor starts from the beginning of the given sort;
+     * otherwise the sort is taken from the cursor itself.
+     */
+    @Transactional(readOnly = true, timeoutString = "${tasks.query.list-timeout:5}")
+    @ReplicaRead
+    public CursorPageDTO<TaskResponseDTO> getAllTasks(TaskFilterDTO filter, String after, Sort sort, int size, TaskView view) {
+        return getKeysetPage(buildFilter(filter), after, sort, size, view);
+    }
+
+    /**
+     * Typeahead suggestions from the in-memory title index; never touches the database.
+     */
+    public List<TaskSuggestionDTO> suggestTasks(String prefix, int limit) {
+        return taskTitleIndex.suggest(prefix, limit);
+    }
+
+    /**
+     * Full-text search over titles and descriptions, best matches first, one cursor page at a time.
+     * Ranked via the tsvector index on PostgreSQL; elsewhere (H2) it falls back to a case-insensitive LIKE.
+     */
+    @Transactional(readOnly = true, timeoutString = "${tasks.query.search-timeout:3}")
+    @ReplicaRead
+    public CursorPageDTO<TaskResponseDTO> searchTasks(String query, String after, int size, TaskView view) {
+        if (query == null || query.isBlank()) {
+            throw new InvalidRequestException("Search query must not be empty");
+        }
+        SearchCursor cursor = (after == null || after.isBlank()) ? null : SearchCursor.decode(after);
+
+        List<Long> ids;
+        String nextCursor = null;
+        if (databasePlatform.isPostgres()) {
+            // One extra hit tells whether another page follows
+            List<TaskSearchHit> hits = taskRepository.searchTaskIds(query, cursor != null ? cursor.last() : null, size + 1);
+            List<TaskSearchHit> page = hits.size() > size ? hits.subList(0, size) : hits;
+            ids = page.stream().map(TaskSearchHit::id).toList();
+            if (hits.size() > size) {
+                nextCursor = SearchCursor.ranked(page.get(page.size() - 1)).encode();
+            }
+        } else {
+            // Keyset on id like the other cursor endpoints, so page sizes can change between requests
+            long afterId = cursor != null && cursor.last() == null ? cursor.lastId() : 0;
+            List<Long> matches = taskRepository.findIdsMatching(likePattern(query), afterId, PageRequest.of(0, size + 1));
+            ids = matches.size() > size ? matches.subList(0, size) : matches;
+            if (matches.size() > size) {
+                nextCursor = SearchCursor.afterId(ids.get(ids.size() - 1)).encode();
+            }
+        }
+        return new CursorPageDTO<>(loadTaskResponses(ids, view), nextCursor);
+    }
+
+    // Lower-cased substring pattern with LIKE wildcards in the query matched literally
+    private static String likePattern(String query) {
+        String escaped = query.toLowerCase(Locale.ROOT)
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+        return "%" + escaped + "%";
+    }
+
+    /**
+     * Filter on the author_id/assignee_id columns; emails are resolved to ids first, so no join to users is needed.
+     */
+    private Specification<Task> buildFilter(TaskFilterDTO filter) {
         Specification<Task> spec = Specification.where(null);
 
-        if (authorEmail != null && !authorEmail.isBlank()) {
-            spec = spec.and(TaskSpecifications.hasAuthor(authorEmail));
+        if (filter.getAuthorEmail() != null && !filter.getAuthorEmail().isBlank()) {
+            spec = spec.and(userIdResolver.resolve(filter.getAuthorEmail())
+                    .map(TaskSpecifications::hasAuthorId)
+                    .orElseGet(TaskSpecifications::none));
         }
-        if (assigneeEmail != null && !assigneeEmail.isBlank()) {
-            spec = spec.and(TaskSpecifications.hasAssignee(assigneeEmail));
+        if (filter.getAuthorId() != null) {
+            spec = spec.and(TaskSpecifications.hasAuthorId(filter.getAuthorId()));
         }
-        if (status != null) {
-            spec = spec.and(TaskSpecifications.hasStatus(status));
+        if (filter.getAssigneeEmail() != null && !filter.getAssigneeEmail().isBlank()) {
+            spec = spec.and(userIdResolver.resolve(filter.getAssigneeEmail())
+                    .map(TaskSpecifications::hasAssigneeId)
+                    .orElseGet(TaskSpecifications::none));
         }
-        if (priority != null) {
-            spec = spec.and(TaskSpecifications.hasPriority(priority));
+        if (filter.getAssigneeId() != null) {
+            spec = spec.and(TaskSpecifications.hasAssigneeId(filter.getAssigneeId()));
+        }
+        if (filter.getStatus() != null) {
+            spec = spec.and(TaskSpecifications.hasStatus(filter.getStatus()));
+        }
+        if (filter.getPriority() != null) {
+            spec = spec.and(TaskSpecifications.hasPriority(filter.getPriority()));
         }
+        return spec;
+    }
 
-        try {
-            Page<Task> tasks = taskRepository.findAll(spec, pageable);
-            return tasks.map(taskMapper::mapToTaskResponseDTO);
-        } catch (Exception ex) {
-            throw new InvalidRequestException("Error occurred while fetching tasks. Please check your filters or pagination parameters.");
+    /**
+     * Cache key for a filter combination; empty when no filter is set.
+     */
+    private String filterKey(TaskFilterDTO filter) {
+        StringBuilder key = new StringBuilder();
+        if (filter.getAuthorEmail() != null && !filter.getAuthorEmail().isBlank()) {
+            key.append("author=").append(filter.getAuthorEmail()).append(';');
+        }
+        if (filter.getAuthorId() != null) {
+            key.append("authorId=").append(filter.getAuthorId()).append(';');
+        }
+        if (filter.getAssigneeEmail() != null && !filter.getAssigneeEmail().isBlank()) {
+            key.append("assignee=").append(filter.getAssigneeEmail()).append(';');
+        }
+        if (filter.getAssigneeId() != null) {
+            key.append("assigneeId=").append(filter.getAssigneeId()).append(';');
+        }
+        if (filter.getStatus() != null) {
+            key.append("status=").append(filter.getStatus()).append(';');
         }
+        if (filter.getPriority() != null) {
+            key.append("priority=").append(filter.getPriority()).append(';');
+        }
+        return key.toString();
     }
 
-}
+    /**
+     * Fetch one keyset page: no offset to skip and no count query, so every page costs the same.
+     */
+    private CursorPageDTO<TaskResponseDTO> getKeysetPage(Specification<Task> spec, String after, Sort sort, int size, TaskView view) {
+        TaskCursor cursor = (after == null || after.isBlank()) ? TaskCursor.start(sort) : TaskCursor.decode(after);
+        if (cursor.hasPosition()) {
+            spec = spec.and(TaskSpecifications.after(cursor));
+        }
+
+        // One extra id tells whether another page follows
+        List<Long> ids = taskRepository.findTaskIds(spec, PageRequest.of(0, size + 1, cursor.toSort()));
+        boolean hasNext = ids.size() > size;
+        // The next cursor is built from the sort key, so it is always part of the response
+        List<TaskResponseDTO> content = loadTaskResponses(hasNext ? ids.subList(0, size) : ids, view.with(cursor.sortKey()));
+
+        String nextCursor = hasNext && !content.isEmpty()
+                ? cursor.after(content.get(content.size() - 1)).encode()
+                : null;
+        return new CursorPageDTO<>(content, nextCursor);
+    }
+
+    /**
+     * Task responses for the given ids, preserving their order. Full responses go through the response
+     * cache, with all misses assembled together; sparse views are always assembled from the database.
+     */
+    private List<TaskResponseDTO> loadTaskResponses(List<Long> ids, TaskView view) {
+        if (ids.isEmpty() || !TaskView.FULL.equals(view)) {
+            return assembleTaskResponses(ids, view);
+        }
+        if (replicaRoutingDataSource != null && ReplicaRoutingDataSource.isReplicaRoute()) {
+            return loadTaskResponsesFromReplica(ids, view);
+        }
+
+        Map<Long, TaskResponseDTO> cached = taskResponseCache.getAll(ids, missing -> assembleTaskResponses(missing, view)
+                .stream()
+                .collect(Collectors.toMap(TaskResponseDTO::getId, Function.identity())));
+        return ids.stream()
+                .map(cached::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    /**
+     * Like loadTaskResponses, but misses are served without being cached: a row read from a lagging replica
+     * could otherwise stay in the cache after the write that invalidated it.
+     */
+    private List<TaskResponseDTO> loadTaskResponsesFromReplica(List<Long> ids, TaskView view) {
+        Map<Long, TaskResponseDTO> responses = new HashMap<>(taskResponseCache.getAllPresent(ids));
+        List<Long> missing = ids.stream().filter(id -> !responses.containsKey(id)).toList();
+        assembleTaskResponses(missing, view).forEach(dto -> responses.put(dto.getId(), dto));
+        return ids.stream()
+                .map(responses::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    /**
+     * Assemble task responses for the given ids, preserving their order.
+     * Task rows are loaded with a single query; comments with one more, and only when the view expands them.
+     */
+    private List<TaskResponseDTO> assembleTaskResponses(List<Long> ids, TaskView view) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
 
+        Map<Long, TaskRow> rows = taskRepository.findRowsByIdIn(ids)
+                .stream()
+                .collect(Collectors.toMap(TaskRow::id, Function.identity()));
+        Map<Long, List<CommentResponseDTO>> comments = view.comments()
+                ? commentRepository.findRowsByTaskIdIn(ids)
+                        .stream()
+                        .collect(Collectors.groupingBy(CommentRow::taskId,
+                                Collectors.mapping((CommentRow row) -> taskMapper.mapToCommentResponseDTO(row), Collectors.toList())))
+                : Map.of();
+
+        List<TaskResponseDTO> responses = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            TaskRow row = rows.get(id);
+            // A task deleted between the two queries is simply left out of the page
+            if (row != null) {
+                responses.add(taskMapper.mapToTaskResponseDTO(row, comments.getOrDefault(id, List.of()), view));
+            }
+        }
+        return responses;
+    }
+
+    // The title index lives outside the database, so it only sees changes that actually committed
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
@@ -0,0 +1,303 @@
+package com.example.demo.services;
+
+import com.example.demo.dto.TaskSuggestionDTO;
+import com.example.demo.repositories.TaskRepository;
+import com.example.demo.repositories.TaskTitleRow;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+/**
+ * In-memory inverted index over task titles for typeahead suggestions.
+ * Every word of a title is indexed as "^word": its one- and two-character prefix grams ("^a", "^ab")
+ * serve short prefixes, and its trigrams serve longer ones. Posting lists are sorted int arrays of task ids.
+ * Built once at startup, then kept current by TaskService on create, update and delete.
+ */
+@Component
+public class TaskTitleIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskTitleIndex.class);
+
+    private static final char WORD_START = '^';
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final Map<String, Postings> postings = new HashMap<>();
+
+    private final Map<Integer, String> titles = new HashMap<>();
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private Timer suggestTimer;
+
+    @PostConstruct
+    void registerMetrics() {
+        suggestTimer = Timer.builder("tasks.suggest")
+                .description("Time to answer a title suggestion from the in-memory index")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        Gauge.builder("tasks.suggest.index.titles", this, index -> index.read(index.titles::size))
+                .description("Task titles held in the suggestion index")
+                .register(meterRegistry);
+        Gauge.builder("tasks.suggest.index.grams", this, index -> index.read(index.postings::size))
+                .description("Distinct grams in the suggestion index")
+                .register(meterRegistry);
+        Gauge.builder("tasks.suggest.index.memory", this, TaskTitleIndex::estimatedBytes)
+                .description("Approximate heap used by posting lists and titles")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        List<TaskTitleRow> rows = taskRepository.findAllTitleRows();
+
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            titles.clear();
+            for (TaskTitleRow row : rows) {
+                add(Math.toIntExact(row.id()), row.title());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        logger.info("Task title index built with {} titles and {} grams", rows.size(), postings.size());
+    }
+
+    /**
+     * Index a new task, or re-index one whose title changed.
+     */
+    public void put(Long taskId, String title) {
+        int id = Math.toIntExact(taskId);
+        lock.writeLock().lock();
+        try {
+            remove(id);
+            add(id, title);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long taskId) {
+        int id = Math.toIntExact(taskId);
+        lock.writeLock().lock();
+        try {
+            remove(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Tasks with a title word starting with each word of the prefix, in id order.
+     */
+    public List<TaskSuggestionDTO> suggest(String prefix, int limit) {
+        List<String> words = words(prefix);
+        if (words.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        return suggestTimer.record(() -> read(() -> {
+            int[] candidates = null;
+            for (String word : words) {
+                for (String gram : queryGrams(word)) {
+                    Postings list = postings.get(gram);
+                    if (list == null) {
+                        return List.<TaskSuggestionDTO>of();
+                    }
+                    candidates = candidates == null ? list.toArray() : intersect(candidates, list);
+                }
+            }
+
+            // Grams can match out of order ("^abc" and "bca" in different words), so confirm each candidate
+            List<TaskSuggestionDTO> result = new ArrayList<>(Math.min(limit, candidates.length));
+            for (int id : candidates) {
+                String title = titles.get(id);
+                if (matches(title, words)) {
+                    result.add(new TaskSuggestionDTO((long) id, title));
+                    if (result.size() == limit) {
+                        break;
+                    }
+                }
+            }
+            return result;
+        }));
+    }
+
+    // Callers hold the write lock
+    private void add(int id, String title) {
+        if (title == null) {
+            return;
+        }
+        titles.put(id, title);
+        for (String gram : indexGrams(title)) {
+            postings.computeIfAbsent(gram, key -> new Postings()).add(id);
+        }
+    }
+
+    // Callers hold the write lock
+    private void remove(int id) {
+        String title = titles.remove(id);
+        if (title == null) {
+            return;
+        }
+        for (String gram : indexGrams(title)) {
+            Postings list = postings.get(gram);
+            if (list != null && list.remove(id) && list.size == 0) {
+                postings.remove(gram);
+            }
+        }
+    }
+
+    private <T> T read(Supplier<T> reader) {
+        lock.readLock().lock();
+        try {
+            return reader.get();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private double estimatedBytes() {
+        return read(() -> {
+            long bytes = 0;
+            for (Map.Entry<String, Postings> entry : postings.entrySet()) {
+                // Array payload plus rough per-entry overhead for the key, node and Postings object
+                bytes += entry.getValue().ids.length * 4L + entry.getKey().length() * 2L + 96;
+            }
+            for (String title : titles.values()) {
+                bytes += title.length() * 2L + 80;
+            }
+            return (double) bytes;
+        });
+    }
+
+    private static List<String> words(String text) {
+        if (text == null) {
+            return List.of();
+        }
+        List<String> words = new ArrayList<>();
+        for (String word : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (!word.isEmpty()) {
+                words.add(word);
+            }
+        }
+        return words;
+    }
+
+    private static Set<String> indexGrams(String title) {
+        Set<String> grams = new LinkedHashSet<>();
+        for (String word : words(title)) {
+            String marked = WORD_START + word;
+            grams.add(marked.substring(0, 2));
+            if (marked.length() >= 3) {
+                grams.add(marked.substring(0, 3));
+            }
+            for (int i = 0; i + 3 <= marked.length(); i++) {
+                grams.add(marked.substring(i, i + 3));
+            }
+        }
+        return grams;
+    }
+
+    private static Set<String> queryGrams(String word) {
+        String marked = WORD_START + word;
+        if (marked.length() <= 3) {
+            return Set.of(marked);
+        }
+        Set<String> grams = new LinkedHashSet<>();
+        for (int i = 0; i + 3 <= marked.length(); i++) {
+            grams.add(marked.substring(i, i + 3));
+        }
+        return grams;
+    }
+
+    private static boolean matches(String title, List<String> prefixes) {
+        List<String> titleWords = words(title);
+        for (String prefix : prefixes) {
+            if (titleWords.stream().noneMatch(word -> word.startsWith(prefix))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int[] intersect(int[] candidates, Postings list) {
+        int[] result = new int[Math.min(candidates.length, list.size)];
+        int count = 0;
+        int i = 0;
+        int j = 0;
+        while (i < candidates.length && j < list.size) {
+            if (candidates[i] < list.ids[j]) {
+                i++;
+            } else if (candidates[i] > list.ids[j]) {
+                j++;
+            } else {
+                result[count++] = candidates[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(result, count);
+    }
+
+    /**
+     * Sorted, growable int array of task ids.
+     */
+    private static final class Postings {
+        private int[] ids = new int[4];
+        private int size;
+
+        void add(int id) {
+            int pos = Arrays.binarySearch(ids, 0, size, id);
+            if (pos >= 0) {
+                return;
+            }
+            pos = -pos - 1;
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            System.arraycopy(ids, pos, ids, pos + 1, size - pos);
+            ids[pos] = id;
+            size++;
+        }
+
+        boolean remove(int id) {
+            int pos = Arrays.binarySearch(ids, 0, size, id);
+            if (pos < 0) {
+                return false;
+            }
+            System.arraycopy(ids, pos + 1, ids, pos, size - pos - 1);
+            size--;
+            return true;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(ids, size);
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.demo.services;
+
+import com.example.demo.entities.Role;
+
+import java.security.Principal;
+
+/**
+ * Lightweight principal built from JWT claims alone, used when the filter does not load the user from the database.
+ */
+public record TokenPrincipal(Long id, String email, Role role) implements Principal {
+
+    @Override
+    public String getName() {
+        return email;
+    }
+}
@@ -0,0 +1,114 @@
+package com.example.demo.services;
+
+import com.example.demo.entities.RevokedToken;
+import com.example.demo.repositories.RevokedTokenRepository;
+import com.example.demo.utils.BloomFilter;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Tracks revoked access tokens by their jti claim. Lookups go to an in-memory Bloom filter first,
+ * so the common not-revoked case costs a few hash probes and no database access; the exact set
+ * only confirms Bloom filter hits.
+ */
+@Service
+public class TokenRevocationService {
+
+    @Autowired
+    private RevokedTokenRepository revokedTokenRepository;
+
+    @Value("${security.revocation.expected-insertions:1000000}")
+    private long expectedInsertions;
+
+    @Value("${security.revocation.false-positive-rate:0.01}")
+    private double falsePositiveRate;
+
+    // Rows committed shortly before the previous poll are read again, adding them twice is harmless
+    @Value("${security.revocation.refresh-overlap:PT1M}")
+    private Duration refreshOverlap;
+
+    private volatile RevocationSet revocations;
+
+    private volatile LocalDateTime lastRefresh;
+
+    @PostConstruct
+    void init() {
+        rebuild();
+    }
+
+    public boolean isRevoked(String jti) {
+        RevocationSet current = revocations;
+        return current.filter.mightContain(jti) && current.jtis.contains(jti);
+    }
+
+    /**
+     * Revoke a token until it expires. Takes effect on this node immediately and on other nodes at their next refresh.
+     */
+    public void revoke(String jti, Date expiresAt) {
+        RevokedToken revokedToken = new RevokedToken();
+        revokedToken.setJti(jti);
+        revokedToken.setExpiresAt(LocalDateTime.ofInstant(expiresAt.toInstant(), ZoneId.systemDefault()));
+        try {
+            revokedTokenRepository.save(revokedToken);
+        } catch (DataIntegrityViolationException ex) {
+            // Already revoked
+        }
+        revocations.add(jti);
+    }
+
+    /**
+     * Add tokens revoked on other nodes since the last poll.
+     */
+    @Scheduled(fixedDelayString = "${security.revocation.refresh-interval:PT10S}",
+            initialDelayString = "${security.revocation.refresh-interval:PT10S}")
+    public void refresh() {
+        LocalDateTime now = LocalDateTime.now();
+        RevocationSet current = revocations;
+        revokedTokenRepository.findActiveJtisRevokedSince(lastRefresh.minus(refreshOverlap), now)
+                .forEach(current::add);
+        lastRefresh = now;
+    }
+
+    /**
+     * Bloom filters cannot forget entries, so the filter is periodically rebuilt from unexpired rows only.
+     */
+    @Scheduled(fixedDelayString = "${security.revocation.rebuild-interval:PT6H}",
+            initialDelayString = "${security.revocation.rebuild-interval:PT6H}")
+    public void rebuild() {
+        LocalDateTime now = LocalDateTime.now();
+        revokedTokenRepository.deleteExpired(now);
+
+        RevocationSet rebuilt = new RevocationSet(new BloomFilter(expectedInsertions, falsePositiveRate));
+        revokedTokenRepository.findActiveJtisRevokedSince(LocalDateTime.of(1970, 1, 1, 0, 0), now)
+                .forEach(rebuilt::add);
+
+        revocations = rebuilt;
+        lastRefresh = now;
+    }
+
+    private static class RevocationSet {
+        private final BloomFilter filter;
+        private final Set<String> jtis = ConcurrentHashMap.newKeySet();
+
+        RevocationSet(BloomFilter filter) {
+            this.filter = filter;
+        }
+
+        void add(String jti) {
+            // Exact entry first, so a concurrent Bloom filter hit always finds it
+            jtis.add(jti);
+            filter.put(jti);
+        }
+    }
+}
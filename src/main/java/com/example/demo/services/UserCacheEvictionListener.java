@@ -0,0 +1,26 @@
+package com.example.demo.services;
+
+import com.example.demo.entities.User;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Evicts the cached user details whenever a user row is updated (role, password) or deleted through JPA,
+ * so a demoted or removed user stops authenticating without waiting for the cache TTL.
+ */
+@Component
+public class UserCacheEvictionListener {
+
+    // Resolved lazily: the listener is created together with the EntityManagerFactory the service depends on
+    @Autowired
+    private ObjectProvider<MyUserDetailsService> userDetailsService;
+
+    @PostUpdate
+    @PostRemove
+    public void evict(User user) {
+        userDetailsService.getObject().evict(user.getEmail());
+    }
+}
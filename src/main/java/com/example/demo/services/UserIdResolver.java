@@ -0,0 +1,52 @@
+package com.example.demo.services;
+
+import com.example.demo.repositories.UserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Resolves user emails to ids for task filters, so listings can filter on the foreign key columns
+ * instead of joining users. Only found emails are cached: a user registered after a miss is picked up
+ * on the next lookup.
+ */
+@Component
+public class UserIdResolver {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${users.id-cache.max-size:10000}")
+    private long cacheMaxSize;
+
+    @Value("${users.id-cache.ttl:10m}")
+    private Duration cacheTtl;
+
+    private Cache<String, Long> ids;
+
+    @PostConstruct
+    void initCache() {
+        ids = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfterWrite(cacheTtl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, ids, "userIds");
+    }
+
+    public Optional<Long> resolve(String email) {
+        // A null mapping result is not stored, which is what keeps misses out of the cache
+        return Optional.ofNullable(ids.get(email, key -> userRepository.findIdByEmail(key).orElse(null)));
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.demo.services;
+
+import com.example.demo.dto.BulkRegisterResponseDTO;
+import com.example.demo.dto.RegisterRequestDTO;
+import com.example.demo.entities.Role;
+import com.example.demo.exceptions.InvalidRequestException;
+import com.example.demo.utils.DatabasePlatform;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Bulk account provisioning: passwords are hashed in parallel and users are inserted in JDBC batches.
+ */
+@Service
+public class UserProvisioningService {
+
+    // Existing emails are skipped instead of failing the whole batch; ON CONFLICT is PostgreSQL-only
+    private static final String POSTGRES_INSERT_USER_SQL =
+            "INSERT INTO users (email, password, role) VALUES (?, ?, ?) ON CONFLICT DO NOTHING";
+
+    // Standard SQL equivalent for other databases (H2)
+    private static final String MERGE_USER_SQL =
+            "MERGE INTO users u USING (VALUES (?, ?, ?)) AS v (email, password, role) ON u.email = v.email " +
+            "WHEN NOT MATCHED THEN INSERT (email, password, role) VALUES (v.email, v.password, v.role)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private PasswordHashingService passwordHashingService;
+
+    @Autowired
+    private MyUserDetailsService userDetailsService;
+
+    @Autowired
+    private DatabasePlatform databasePlatform;
+
+    @Value("${users.bulk.max-size:10000}")
+    private int maxBulkSize;
+
+    @Value("${users.bulk.batch-size:500}")
+    private int batchSize;
+
+    /**
+     * Register many users with role USER, skipping emails that are already taken.
+     */
+    public BulkRegisterResponseDTO registerAll(List<RegisterRequestDTO> requests) {
+        if (requests.size() > maxBulkSize) {
+            throw new InvalidRequestException("At most " + maxBulkSize + " users can be registered at once");
+        }
+
+        List<String> passwordHashes = passwordHashingService.mapAll(requests,
+                request -> passwordEncoder.encode(request.getPassword()));
+
+        List<Integer> rows = new ArrayList<>(requests.size());
+        for (int i = 0; i < requests.size(); i++) {
+            rows.add(i);
+        }
+        String sql = databasePlatform.isPostgres() ? POSTGRES_INSERT_USER_SQL : MERGE_USER_SQL;
+        int[][] counts = jdbcTemplate.batchUpdate(sql, rows, batchSize, (ps, row) -> {
+            ps.setString(1, requests.get(row).getEmail());
+            ps.setString(2, passwordHashes.get(row));
+            ps.setString(3, Role.ROLE_USER.name());
+        });
+
+        int created = 0;
+        List<String> skippedEmails = new ArrayList<>();
+        List<String> unconfirmedEmails = new ArrayList<>();
+        for (int batch = 0; batch < counts.length; batch++) {
+            for (int i = 0; i < counts[batch].length; i++) {
+                String email = requests.get(batch * batchSize + i).getEmail();
+                if (counts[batch][i] > 0) {
+                    created++;
+                    userDetailsService.evict(email);
+                } else if (counts[batch][i] == Statement.SUCCESS_NO_INFO) {
+                    // Drivers that rewrite batches give no row count: the user was either inserted or skipped
+                    unconfirmedEmails.add(email);
+                    userDetailsService.evict(email);
+                } else {
+                    skippedEmails.add(email);
+                }
+            }
+        }
+
+        return new BulkRegisterResponseDTO(created, skippedEmails, unconfirmedEmails);
+    }
+}
@@ -3,6 +3,10 @@ package com.example.demo.specifications;
 import com.example.demo.entities.Task;
 import com.example.demo.entities.TaskPriority;
 import com.example.demo.entities.TaskStatus;
+import com.example.demo.utils.TaskCursor;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 
 public class TaskSpecifications {
@@ -16,6 +20,21 @@ public class TaskSpecifications {
                 criteriaBuilder.equal(root.get("assignee").get("email"), assigneeEmail);
     }
 
+    public static Specification<Task> hasAuthorId(Long authorId) {
+        return (root, query, criteriaBuilder) ->
+                criteriaBuilder.equal(root.get("author").get("id"), authorId);
+    }
+
+    // Matches nothing, e.g. when a filter names a user that does not exist
+    public static Specification<Task> none() {
+        return (root, query, criteriaBuilder) -> criteriaBuilder.disjunction();
+    }
+
+    public static Specification<Task> hasAssigneeId(Long assigneeId) {
+        return (root, query, criteriaBuilder) ->
+                criteriaBuilder.equal(root.get("assignee").get("id"), assigneeId);
+    }
+
     public static Specification<Task> hasStatus(TaskStatus status) {
         return (root, query, criteriaBuilder) ->
                 criteriaBuilder.equal(root.get("status"), status);
@@ -25,5 +44,28 @@ public class TaskSpecifications {
         return (root, query, criteriaBuilder) ->
                 criteriaBuilder.equal(root.get("priority"), priority);
     }
-}
 
+    /**
+     * Keyset predicate selecting the tasks that come after the cursor position in its sort order.
+     */
+    public static Specification<Task> after(TaskCursor cursor) {
+        return (root, query, criteriaBuilder) -> {
+            boolean ascending = cursor.direction() == Sort.Direction.ASC;
+            Path<Long> id = root.get("id");
+            Predicate idAfter = ascending
+                    ? criteriaBuilder.greaterThan(id, cursor.id())
+                    : criteriaBuilder.lessThan(id, cursor.id());
+            if ("id".equals(cursor.sortKey())) {
+                return idAfter;
+            }
+
+            // (key, id) > (value, lastId), spelled out since JPA has no row-value comparison
+            Path<String> key = root.get(cursor.sortKey());
+            Predicate keyAfter = ascending
+                    ? criteriaBuilder.greaterThan(key, cursor.value())
+                    : criteriaBuilder.lessThan(key, cursor.value());
+            return criteriaBuilder.or(keyAfter,
+                    criteriaBuilder.and(criteriaBuilder.equal(key, cursor.value()), idAfter));
+        };
+    }
+}
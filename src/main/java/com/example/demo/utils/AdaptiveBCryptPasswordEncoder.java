@@ -0,0 +1,109 @@
+package com.example.demo.utils;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * BCrypt encoder whose work factor is calibrated for the current hardware (or configured explicitly).
+ * Stored hashes below the minimum cost, or more than one step away from this node's cost, are reported
+ * for re-encoding on the user's next successful login. Nodes whose calibrations differ by one step
+ * therefore accept each other's hashes instead of rewriting them back and forth.
+ */
+public class AdaptiveBCryptPasswordEncoder implements PasswordEncoder {
+
+    private static final Logger log = LoggerFactory.getLogger(AdaptiveBCryptPasswordEncoder.class);
+
+    // $2a$10$<53 chars of salt and hash>, the cost is the second group
+    private static final Pattern BCRYPT_PATTERN = Pattern.compile("\\A\\$2([ayb])?\\$(\\d\\d)\\$[./0-9A-Za-z]{53}");
+
+    private static final String CALIBRATION_PASSWORD = "calibration-password";
+
+    // Timings per cost step; the median ignores a single GC pause or noisy neighbour
+    private static final int CALIBRATION_SAMPLES = 5;
+
+    private final int strength;
+    private final int minStrength;
+    private final BCryptPasswordEncoder delegate;
+
+    public AdaptiveBCryptPasswordEncoder(int strength) {
+        this(strength, strength);
+    }
+
+    public AdaptiveBCryptPasswordEncoder(int strength, int minStrength) {
+        this.strength = strength;
+        this.minStrength = Math.min(minStrength, strength);
+        this.delegate = new BCryptPasswordEncoder(strength);
+    }
+
+    /**
+     * Pick the highest cost in [minStrength, maxStrength] whose hash time stays within the target latency.
+     * Each extra cost step doubles the hashing time, so the next step is only tried while it is expected to fit.
+     */
+    public static AdaptiveBCryptPasswordEncoder calibrate(Duration targetLatency, int minStrength, int maxStrength) {
+        long targetNanos = targetLatency.toNanos();
+
+        measure(minStrength); // Warm up before timing
+        int strength = minStrength;
+        long elapsed = medianMeasure(strength);
+        while (strength < maxStrength && elapsed * 2 <= targetNanos) {
+            strength++;
+            elapsed = medianMeasure(strength);
+        }
+
+        log.info("Calibrated BCrypt strength {} ({} ms median per hash, target {} ms)",
+                strength, Duration.ofNanos(elapsed).toMillis(), targetLatency.toMillis());
+        return new AdaptiveBCryptPasswordEncoder(strength, minStrength);
+    }
+
+    private static long medianMeasure(int strength) {
+        long[] samples = new long[CALIBRATION_SAMPLES];
+        for (int i = 0; i < samples.length; i++) {
+            samples[i] = measure(strength);
+        }
+        Arrays.sort(samples);
+        return samples[samples.length / 2];
+    }
+
+    private static long measure(int strength) {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(strength);
+        long start = System.nanoTime();
+        encoder.encode(CALIBRATION_PASSWORD);
+        return System.nanoTime() - start;
+    }
+
+    public int getStrength() {
+        return strength;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return delegate.encode(rawPassword);
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        // The cost is read from the stored hash, so hashes of every strength still verify
+        return delegate.matches(rawPassword, encodedPassword);
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        if (encodedPassword == null) {
+            return false;
+        }
+        Matcher matcher = BCRYPT_PATTERN.matcher(encodedPassword);
+        if (!matcher.matches()) {
+            return false;
+        }
+        int cost = Integer.parseInt(matcher.group(2));
+        // Hysteresis: a neighbouring node's cost (one step either way) is left as it is
+        return cost < minStrength || Math.abs(cost - strength) > 1;
+    }
+}
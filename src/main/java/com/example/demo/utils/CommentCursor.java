@@ -0,0 +1,37 @@
+package com.example.demo.utils;
+
+import com.example.demo.exceptions.InvalidRequestException;
+import com.example.demo.repositories.CommentRow;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Opaque keyset position for comment listings: the (createdAt, id) of the last comment returned.
+ */
+public record CommentCursor(LocalDateTime createdAt, Long id) {
+
+    public static CommentCursor of(CommentRow last) {
+        return new CommentCursor(last.createdAt(), last.id());
+    }
+
+    public static CommentCursor decode(String token) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = decoded.split("\\|", 2);
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Malformed cursor");
+            }
+            return new CommentCursor(LocalDateTime.parse(parts[0]), Long.valueOf(parts[1]));
+        } catch (IllegalArgumentException | DateTimeParseException ex) {
+            throw new InvalidRequestException("Invalid cursor");
+        }
+    }
+
+    public String encode() {
+        String raw = createdAt + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
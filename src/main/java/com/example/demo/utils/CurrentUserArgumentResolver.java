@@ -0,0 +1,48 @@
+package com.example.demo.utils;
+
+import com.example.demo.entities.User;
+import com.example.demo.exceptions.UserNotFoundException;
+import com.example.demo.services.CustomUserDetails;
+import com.example.demo.services.TokenPrincipal;
+import org.springframework.core.MethodParameter;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+
+/**
+ * Resolves {@link CurrentUser} parameters from the principal set by {@link JwtRequestFilter}.
+ */
+public class CurrentUserArgumentResolver implements HandlerMethodArgumentResolver {
+
+    @Override
+    public boolean supportsParameter(MethodParameter parameter) {
+        return parameter.hasParameterAnnotation(CurrentUser.class)
+                && User.class.isAssignableFrom(parameter.getParameterType());
+    }
+
+    @Override
+    public Object resolveArgument(MethodParameter parameter, ModelAndViewContainer mavContainer,
+                                  NativeWebRequest webRequest, WebDataBinderFactory binderFactory) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        Object principal = authentication != null ? authentication.getPrincipal() : null;
+
+        // The filter already loaded the user; each request gets its own copy of the cached snapshot
+        if (principal instanceof CustomUserDetails userDetails) {
+            return userDetails.toUser();
+        }
+
+        // Stateless mode: a detached reference carrying the id, email and role from the token
+        if (principal instanceof TokenPrincipal tokenPrincipal) {
+            User user = new User();
+            user.setId(tokenPrincipal.id());
+            user.setEmail(tokenPrincipal.email());
+            user.setRole(tokenPrincipal.role());
+            return user;
+        }
+
+        throw new UserNotFoundException("User not found");
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.demo.utils;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Which database the application runs on, for the few queries that only PostgreSQL supports
+ * (planner statistics, full-text search). Everything else stays portable so H2 keeps working.
+ */
+@Component
+public class DatabasePlatform {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private boolean postgres;
+
+    @PostConstruct
+    void detect() {
+        String product = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                connection.getMetaData().getDatabaseProductName());
+        postgres = "PostgreSQL".equalsIgnoreCase(product);
+    }
+
+    public boolean isPostgres() {
+        return postgres;
+    }
+}
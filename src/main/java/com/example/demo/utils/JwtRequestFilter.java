@@ -1,8 +1,14 @@
 package com.example.demo.utils;
 
 import com.example.demo.services.MyUserDetailsService;
+import com.example.demo.services.TokenPrincipal;
+import com.example.demo.services.TokenRevocationService;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
@@ -12,6 +18,7 @@ import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
+import java.util.Collections;
 
 @Component
 public class JwtRequestFilter extends OncePerRequestFilter {
@@ -22,29 +29,63 @@ public class JwtRequestFilter extends OncePerRequestFilter {
     @Autowired
     private MyUserDetailsService userDetailsService;
 
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+
+    // Load the user from the database on every request instead of trusting the token claims
+    @Value("${jwt.verify-user-in-db:false}")
+    private boolean verifyUserInDb;
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
             throws ServletException, IOException {
         final String authorizationHeader = request.getHeader("Authorization");
 
-        String username = null;
-        String jwt = null;
+        Claims claims = null;
 
         if (authorizationHeader != null && authorizationHeader.startsWith("Bearer ")) {
-            jwt = authorizationHeader.substring(7);
-            username = jwtUtil.extractUsername(jwt);
+            String jwt = authorizationHeader.substring(7);
+            try {
+                // Signature and expiry are verified here, once per token
+                claims = jwtUtil.extractValidClaims(jwt);
+            } catch (JwtException | IllegalArgumentException ex) {
+                // Invalid or expired token: continue unauthenticated
+            }
+
+            // In-memory Bloom filter check, no database access for tokens that are not revoked
+            if (claims != null && claims.getId() != null && tokenRevocationService.isRevoked(claims.getId())) {
+                claims = null;
+            }
         }
 
-        if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = this.userDetailsService.loadUserByUsername(username);
+        if (claims != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+            // Tokens issued before id and role claims existed still go through the database
+            TokenPrincipal principal = verifyUserInDb ? null : extractPrincipal(claims);
 
-            if (jwtUtil.validateToken(jwt, userDetails)) {
-                UsernamePasswordAuthenticationToken authToken =
-                        new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+            if (principal != null) {
+                UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
+                        principal, null, Collections.singletonList(new SimpleGrantedAuthority(principal.role().name())));
                 SecurityContextHolder.getContext().setAuthentication(authToken);
+            } else {
+                UserDetails userDetails = this.userDetailsService.loadUserByUsername(claims.getSubject());
+
+                if (jwtUtil.isTokenValid(claims, userDetails.getUsername())) {
+                    UsernamePasswordAuthenticationToken authToken =
+                            new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+                    SecurityContextHolder.getContext().setAuthentication(authToken);
+                }
             }
         }
 
         chain.doFilter(request, response);
     }
+
+    private TokenPrincipal extractPrincipal(Claims claims) {
+        try {
+            return jwtUtil.extractPrincipal(claims);
+        } catch (RuntimeException ex) {
+            // Unexpected claim types: fall back to the database lookup
+            return null;
+        }
+    }
 }
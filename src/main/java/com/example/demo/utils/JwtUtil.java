@@ -1,21 +1,33 @@
 package com.example.demo.utils;
 
+import com.example.demo.entities.Role;
+import com.example.demo.entities.User;
+import com.example.demo.services.TokenPrincipal;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtBuilder;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.JwtParserBuilder;
 import io.jsonwebtoken.SignatureAlgorithm;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.spec.SecretKeySpec;
 import java.security.Key;
+import java.time.Duration;
 import java.util.Base64;
 import java.util.Date;
+import java.util.UUID;
 import java.util.function.Function;
 
 @Component
 public class JwtUtil {
 
+    // Custom claims that let the filter build the principal without a database lookup
+    public static final String USER_ID_CLAIM = "uid";
+    public static final String ROLE_CLAIM = "role";
+
     // Get the secret key from the environment variable SECURE_SECRET_KEY
     private final String SECRET = System.getenv("SECURE_SECRET_KEY") != null
             ? System.getenv("SECURE_SECRET_KEY")
@@ -28,6 +40,13 @@ public class JwtUtil {
     // Initialize the JwtParser instance
     private final JwtParser jwtParser;
 
+    @Autowired
+    private VerifiedClaimsCache claimsCache;
+
+    // Access tokens are short-lived, clients renew them through /auth/refresh
+    @Value("${jwt.access-token-ttl:15m}")
+    private Duration accessTokenTtl = Duration.ofMinutes(15);
+
     public JwtUtil() {
         JwtParserBuilder builder = Jwts.parser(); // Use the builder pattern
         this.jwtParser = builder.setSigningKey(SECRET_KEY).build(); // Build the parser with the secret key
@@ -38,33 +57,77 @@ public class JwtUtil {
     }
 
     public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
+        final Claims claims = extractValidClaims(token);
         return claimsResolver.apply(claims);
     }
 
+    /**
+     * Verify the token signature and expiry once and return its claims.
+     * Tokens seen before are served from the verified-claims cache without another HMAC check.
+     *
+     * @throws io.jsonwebtoken.JwtException if the token is malformed, tampered with or expired.
+     */
+    public Claims extractValidClaims(String token) {
+        Claims claims = claimsCache.get(token);
+        if (claims == null) {
+            claims = extractAllClaims(token);
+            claimsCache.put(token, claims);
+        }
+        return claims;
+    }
+
     private Claims extractAllClaims(String token) {
-        return jwtParser.parseClaimsJws(token).getBody(); // Use the pre-built parser
+        return jwtParser.parseClaimsJws(token).getBody(); // Use the pre-built parser, also rejects expired tokens
+    }
+
+    /**
+     * Build a principal from verified claims, or return null for tokens issued without id and role claims.
+     */
+    public TokenPrincipal extractPrincipal(Claims claims) {
+        Number userId = claims.get(USER_ID_CLAIM, Number.class);
+        String role = claims.get(ROLE_CLAIM, String.class);
+        if (userId == null || role == null) {
+            return null;
+        }
+        return new TokenPrincipal(userId.longValue(), claims.getSubject(), Role.valueOf(role));
+    }
+
+    public String generateToken(User user) {
+        return tokenBuilder(user.getEmail())
+                .claim(USER_ID_CLAIM, user.getId())
+                .claim(ROLE_CLAIM, user.getRole().name())
+                .compact();
     }
 
     public String generateToken(String username) {
+        return tokenBuilder(username).compact();
+    }
+
+    private JwtBuilder tokenBuilder(String username) {
         return Jwts.builder()
+                .setId(UUID.randomUUID().toString()) // jti, the key for revocation
                 .setSubject(username)
                 .setIssuedAt(new Date(System.currentTimeMillis()))
-                .setExpiration(new Date(System.currentTimeMillis() + 1000 * 60 * 60 * 10)) // Token validity: 10 hours
-                .signWith(SECRET_KEY) // Automatically infers the algorithm from the key
-                .compact();
+                .setExpiration(new Date(System.currentTimeMillis() + accessTokenTtl.toMillis()))
+                .signWith(SECRET_KEY); // Automatically infers the algorithm from the key
+    }
+
+    public Duration getAccessTokenTtl() {
+        return accessTokenTtl;
     }
 
     public boolean isTokenValid(String token, String username) {
-        return username.equals(extractUsername(token)) && !isTokenExpired(token);
+        return isTokenValid(extractValidClaims(token), username);
     }
 
     public boolean validateToken(String token, org.springframework.security.core.userdetails.UserDetails userDetails) {
-        final String username = extractUsername(token); // Extract the username from the token
-        return (username.equals(userDetails.getUsername()) && !isTokenExpired(token)); // Check username match and token expiry
+        return isTokenValid(extractValidClaims(token), userDetails.getUsername());
     }
 
-    private boolean isTokenExpired(String token) {
-        return extractClaim(token, Claims::getExpiration).before(new Date());
+    /**
+     * Check already-verified claims against the expected username without parsing the token again.
+     */
+    public boolean isTokenValid(Claims claims, String username) {
+        return username.equals(claims.getSubject()) && !claims.getExpiration().before(new Date()); // Check username match and token expiry
     }
 }
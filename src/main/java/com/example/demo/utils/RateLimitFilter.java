@@ -0,0 +1,154 @@
+package com.example.demo.utils;
+
+import com.example.demo.entities.Role;
+import com.example.demo.services.TokenPrincipal;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rejects requests over quota with 429 before JWT authentication, BCrypt or the database are involved.
+ * /auth/** is limited per client IP; /tasks/** per principal, with quotas by role.
+ * Behind a proxy the client IP comes from X-Forwarded-For, resolved by server.forward-headers-strategy.
+ */
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    // Shared, thread-safe mapper from the application context instead of a new one per rejected request
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${rate-limit.enabled:true}")
+    private boolean enabled;
+
+    @Value("${rate-limit.stripes:16}")
+    private int stripes;
+
+    @Value("${rate-limit.auth.capacity:10}")
+    private long authCapacity;
+
+    @Value("${rate-limit.auth.refill-per-second:1}")
+    private double authRefillPerSecond;
+
+    @Value("${rate-limit.user.capacity:50}")
+    private long userCapacity;
+
+    @Value("${rate-limit.user.refill-per-second:20}")
+    private double userRefillPerSecond;
+
+    @Value("${rate-limit.admin.capacity:200}")
+    private long adminCapacity;
+
+    @Value("${rate-limit.admin.refill-per-second:100}")
+    private double adminRefillPerSecond;
+
+    private RateLimiter rateLimiter;
+    private RateLimiter.Quota authQuota;
+    private RateLimiter.Quota userQuota;
+    private RateLimiter.Quota adminQuota;
+
+    // Invalid quotas (e.g. refill-per-second=0) fail startup instead of overflowing on the first request
+    @PostConstruct
+    void init() {
+        rateLimiter = new RateLimiter(stripes);
+        authQuota = new RateLimiter.Quota(authCapacity, authRefillPerSecond);
+        userQuota = new RateLimiter.Quota(userCapacity, userRefillPerSecond);
+        adminQuota = new RateLimiter.Quota(adminCapacity, adminRefillPerSecond);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getServletPath();
+        return !enabled || !(path.startsWith("/auth/") || path.equals("/tasks") || path.startsWith("/tasks/"));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String key;
+        RateLimiter.Quota quota;
+
+        if (request.getServletPath().startsWith("/auth/")) {
+            key = "ip:" + request.getRemoteAddr();
+            quota = authQuota;
+        } else {
+            // Verified claims come from the claims cache, so this costs no HMAC for known tokens and never a DB query
+            TokenPrincipal principal = extractPrincipal(request);
+            if (principal != null) {
+                key = "user:" + principal.getName();
+                quota = Role.ROLE_ADMIN.equals(principal.role()) ? adminQuota : userQuota;
+            } else {
+                key = "ip:" + request.getRemoteAddr();
+                quota = authQuota;
+            }
+        }
+
+        long waitNanos = rateLimiter.tryAcquire(key, quota, System.nanoTime());
+        if (waitNanos > 0) {
+            reject(request, response, waitNanos);
+            return;
+        }
+
+        chain.doFilter(request, response);
+    }
+
+    /**
+     * Drop buckets that are full again, so keys that stopped sending requests do not accumulate.
+     */
+    @Scheduled(fixedDelayString = "${rate-limit.idle-eviction-interval:PT5M}")
+    public void evictIdleBuckets() {
+        rateLimiter.evictIdle(System.nanoTime());
+    }
+
+    private TokenPrincipal extractPrincipal(HttpServletRequest request) {
+        String authorizationHeader = request.getHeader("Authorization");
+        if (authorizationHeader == null || !authorizationHeader.startsWith("Bearer ")) {
+            return null;
+        }
+        try {
+            Claims claims = jwtUtil.extractValidClaims(authorizationHeader.substring(7));
+            TokenPrincipal principal = jwtUtil.extractPrincipal(claims);
+            // Tokens without id and role claims are limited by subject with the user quota
+            return principal != null ? principal : new TokenPrincipal(null, claims.getSubject(), Role.ROLE_USER);
+        } catch (JwtException | IllegalArgumentException ex) {
+            return null;
+        }
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response, long waitNanos) throws IOException {
+        long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L));
+
+        response.setContentType("application/json");
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+
+        Map<String, Object> responseBody = new HashMap<>();
+        responseBody.put("timestamp", System.currentTimeMillis());
+        responseBody.put("status", HttpStatus.TOO_MANY_REQUESTS.value());
+        responseBody.put("error", HttpStatus.TOO_MANY_REQUESTS.getReasonPhrase());
+        responseBody.put("message", "Rate limit exceeded, please retry later.");
+        responseBody.put("path", request.getRequestURI());
+
+        response.getWriter().write(objectMapper.writeValueAsString(responseBody));
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.demo.utils;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token-bucket rate limiter with one lock-free bucket per key.
+ * <p>
+ * Each bucket is a single {@link AtomicLong} holding the "theoretical arrival time" of the next request
+ * (GCRA), updated with a CAS loop, so the hot path takes no lock. Buckets are spread over independent
+ * stripes; a bucket whose arrival time is in the past is full, so idle buckets can be dropped without
+ * losing any state.
+ */
+public class RateLimiter {
+
+    public record Quota(long capacity, double refillPerSecond) {
+
+        // Validated once when the configuration is loaded, so interval * capacity cannot overflow in tryAcquire
+        public Quota {
+            if (capacity < 1) {
+                throw new IllegalArgumentException("Rate limit capacity must be at least 1, got " + capacity);
+            }
+            if (!(refillPerSecond > 0)) {
+                throw new IllegalArgumentException("Rate limit refill-per-second must be positive, got " + refillPerSecond);
+            }
+            if ((long) (1_000_000_000L / refillPerSecond) > Long.MAX_VALUE / capacity) {
+                throw new IllegalArgumentException("Rate limit refill-per-second " + refillPerSecond
+                        + " is too low for capacity " + capacity);
+            }
+        }
+
+        long intervalNanos() {
+            return (long) (1_000_000_000L / refillPerSecond);
+        }
+    }
+
+    private final ConcurrentHashMap<String, AtomicLong>[] stripes;
+
+    @SuppressWarnings("unchecked")
+    public RateLimiter(int stripeCount) {
+        int size = Integer.highestOneBit(Math.max(1, stripeCount - 1)) << 1; // Round up to a power of two
+        stripes = new ConcurrentHashMap[size];
+        for (int i = 0; i < size; i++) {
+            stripes[i] = new ConcurrentHashMap<>();
+        }
+    }
+
+    /**
+     * Take one token from the key's bucket.
+     *
+     * @return 0 if the request is allowed, otherwise the nanoseconds until the next token is available.
+     */
+    public long tryAcquire(String key, Quota quota, long nowNanos) {
+        AtomicLong bucket = stripeFor(key).computeIfAbsent(key, k -> new AtomicLong(nowNanos));
+        long interval = quota.intervalNanos();
+        long burstWindow = interval * quota.capacity();
+
+        while (true) {
+            long arrival = bucket.get();
+            long next = Math.max(arrival, nowNanos) + interval;
+            long wait = next - nowNanos - burstWindow;
+            if (wait > 0) {
+                return wait;
+            }
+            if (bucket.compareAndSet(arrival, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Drop buckets that have been refilled completely, i.e. were not used for a full burst window.
+     */
+    public void evictIdle(long nowNanos) {
+        for (ConcurrentHashMap<String, AtomicLong> stripe : stripes) {
+            stripe.values().removeIf(bucket -> bucket.get() <= nowNanos);
+        }
+    }
+
+    public int size() {
+        int size = 0;
+        for (ConcurrentHashMap<String, AtomicLong> stripe : stripes) {
+            size += stripe.size();
+        }
+        return size;
+    }
+
+    private ConcurrentHashMap<String, AtomicLong> stripeFor(String key) {
+        int hash = key.hashCode();
+        hash ^= hash >>> 16;
+        return stripes[hash & (stripes.length - 1)];
+    }
+}
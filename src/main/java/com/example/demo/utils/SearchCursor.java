@@ -0,0 +1,43 @@
+package com.example.demo.utils;
+
+import com.example.demo.exceptions.InvalidRequestException;
+import com.example.demo.repositories.TaskSearchHit;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Opaque position in task search results. Ranked (PostgreSQL) searches resume after the last
+ * (rank, id); the LIKE fallback is ordered by id alone and resumes after the last id.
+ */
+public record SearchCursor(TaskSearchHit last, long lastId) {
+
+    public static SearchCursor ranked(TaskSearchHit last) {
+        return new SearchCursor(last, last.id());
+    }
+
+    public static SearchCursor afterId(long lastId) {
+        return new SearchCursor(null, lastId);
+    }
+
+    public static SearchCursor decode(String token) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8).split("\\|");
+            if (parts.length == 3 && "r".equals(parts[0])) {
+                return ranked(new TaskSearchHit(Long.valueOf(parts[2]), Float.parseFloat(parts[1])));
+            }
+            if (parts.length == 2 && "i".equals(parts[0])) {
+                return afterId(Long.parseLong(parts[1]));
+            }
+            throw new IllegalArgumentException("Malformed cursor");
+        } catch (IllegalArgumentException ex) {
+            throw new InvalidRequestException("Invalid cursor");
+        }
+    }
+
+    public String encode() {
+        // Float.toString round-trips exactly, so the rank compares equal on the next page
+        String raw = last != null ? "r|" + last.rank() + "|" + last.id() : "i|" + lastId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.demo.utils;
+
+import com.example.demo.dto.TaskResponseDTO;
+import com.example.demo.exceptions.InvalidRequestException;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Set;
+
+/**
+ * Opaque keyset position for task listings: the sort key and direction, plus the sort value and id
+ * of the last task returned. Only index-backed sort keys are accepted.
+ */
+public record TaskCursor(String sortKey, Sort.Direction direction, Long id, String value) {
+
+    public static final Set<String> SORT_KEYS = Set.of("id", "title");
+
+    /**
+     * Cursor for the first page of the given sort, which must be unsorted or a single supported key.
+     */
+    public static TaskCursor start(Sort sort) {
+        if (sort.isUnsorted()) {
+            return new TaskCursor("id", Sort.Direction.ASC, null, null);
+        }
+
+        Sort.Order order = sort.iterator().next();
+        if (sort.stream().count() > 1 || !SORT_KEYS.contains(order.getProperty())) {
+            throw new InvalidRequestException("Cursor pagination supports a single sort on one of " + SORT_KEYS);
+        }
+        return new TaskCursor(order.getProperty(), order.getDirection(), null, null);
+    }
+
+    public static TaskCursor decode(String token) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            // The value goes last so it may itself contain the separator
+            String[] parts = decoded.split("\\|", 4);
+            if (parts.length != 4 || !SORT_KEYS.contains(parts[0])) {
+                throw new IllegalArgumentException("Malformed cursor");
+            }
+            String value = "id".equals(parts[0]) ? null : parts[3];
+            return new TaskCursor(parts[0], Sort.Direction.valueOf(parts[1]), Long.valueOf(parts[2]), value);
+        } catch (IllegalArgumentException ex) {
+            throw new InvalidRequestException("Invalid cursor");
+        }
+    }
+
+    public String encode() {
+        String raw = sortKey + "|" + direction.name() + "|" + id + "|" + (value != null ? value : "");
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Cursor positioned right after the given task.
+     */
+    public TaskCursor after(TaskResponseDTO last) {
+        return new TaskCursor(sortKey, direction, last.getId(), "title".equals(sortKey) ? last.getTitle() : null);
+    }
+
+    public boolean hasPosition() {
+        return id != null;
+    }
+
+    /**
+     * Sort key followed by id in the same direction, so the order matches the keyset predicate.
+     */
+    public Sort toSort() {
+        Sort byId = Sort.by(direction, "id");
+        return "id".equals(sortKey) ? byId : Sort.by(direction, sortKey).and(byId);
+    }
+}
@@ -4,8 +4,12 @@ import com.example.demo.dto.CommentResponseDTO;
 import com.example.demo.dto.TaskResponseDTO;
 import com.example.demo.entities.Comment;
 import com.example.demo.entities.Task;
+import com.example.demo.entities.User;
+import com.example.demo.repositories.CommentRow;
+import com.example.demo.repositories.TaskRow;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
 import java.util.stream.Collectors;
 
 @Component
@@ -30,6 +34,38 @@ public class TaskMapper {
         return dto;
     }
 
+    /**
+     * Map a flat TaskRow projection to a TaskResponseDTO carrying only the fields in the view.
+     * Comments are left null unless the view expands them; only the selected fields are serialized.
+     */
+    public TaskResponseDTO mapToTaskResponseDTO(TaskRow row, List<CommentResponseDTO> comments, TaskView view) {
+        TaskResponseDTO dto = new TaskResponseDTO();
+        dto.setFields(view.properties());
+        dto.setId(row.id());
+        if (view.includes("title")) {
+            dto.setTitle(row.title());
+        }
+        if (view.includes("description")) {
+            dto.setDescription(row.description());
+        }
+        if (view.includes("status")) {
+            dto.setStatus(row.status().name());
+        }
+        if (view.includes("priority")) {
+            dto.setPriority(row.priority().name());
+        }
+        if (view.includes("authorEmail")) {
+            dto.setAuthorEmail(row.authorEmail());
+        }
+        if (view.includes("assigneeEmail")) {
+            dto.setAssigneeEmail(row.assigneeEmail());
+        }
+        if (view.comments()) {
+            dto.setComments(comments);
+        }
+        return dto;
+    }
+
     /**
      * Map a Comment entity to a CommentResponseDTO.
      */
@@ -40,4 +76,26 @@ public class TaskMapper {
         dto.setCreatedAt(comment.getCreatedAt());
         return dto;
     }
+
+    /**
+     * Map a comment just written by the given user, without loading its author reference.
+     */
+    public CommentResponseDTO mapToCommentResponseDTO(Comment comment, User author) {
+        CommentResponseDTO dto = new CommentResponseDTO();
+        dto.setContent(comment.getContent());
+        dto.setAuthorEmail(author.getEmail());
+        dto.setCreatedAt(comment.getCreatedAt());
+        return dto;
+    }
+
+    /**
+     * Map a flat CommentRow projection to a CommentResponseDTO.
+     */
+    public CommentResponseDTO mapToCommentResponseDTO(CommentRow row) {
+        CommentResponseDTO dto = new CommentResponseDTO();
+        dto.setContent(row.content());
+        dto.setAuthorEmail(row.authorEmail());
+        dto.setCreatedAt(row.createdAt());
+        return dto;
+    }
 }
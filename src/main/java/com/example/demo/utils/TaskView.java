@@ -0,0 +1,81 @@
+package com.example.demo.utils;
+
+import com.example.demo.exceptions.InvalidRequestException;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Which task fields a list response carries, parsed from the fields= and expand= query parameters.
+ * The id is always included; comments are only loaded when expanded.
+ */
+public record TaskView(Set<String> fields, boolean comments) {
+
+    public static final String COMMENTS = "comments";
+
+    public static final Set<String> FIELDS =
+            Set.of("id", "title", "description", "status", "priority", "authorEmail", "assigneeEmail");
+
+    // Every scalar field, no comments: the default for list endpoints
+    public static final TaskView SUMMARY = new TaskView(FIELDS, false);
+
+    public static final TaskView FULL = new TaskView(FIELDS, true);
+
+    public static TaskView parse(String fields, String expand) {
+        boolean comments = false;
+        if (expand != null && !expand.isBlank()) {
+            for (String name : expand.split(",")) {
+                if (!COMMENTS.equals(name.trim())) {
+                    throw new InvalidRequestException("Unknown expand value: " + name.trim());
+                }
+                comments = true;
+            }
+        }
+
+        if (fields == null || fields.isBlank()) {
+            return new TaskView(FIELDS, comments);
+        }
+
+        Set<String> selected = new HashSet<>();
+        selected.add("id");
+        for (String name : fields.split(",")) {
+            String field = name.trim();
+            if (COMMENTS.equals(field)) {
+                comments = true;
+            } else if (FIELDS.contains(field)) {
+                selected.add(field);
+            } else {
+                throw new InvalidRequestException("Unknown field: " + field);
+            }
+        }
+        return new TaskView(Set.copyOf(selected), comments);
+    }
+
+    public boolean includes(String field) {
+        return fields.contains(field);
+    }
+
+    /**
+     * Response properties this view sends: the selected fields, plus comments when expanded.
+     */
+    public Set<String> properties() {
+        if (!comments) {
+            return fields;
+        }
+        Set<String> properties = new HashSet<>(fields);
+        properties.add(COMMENTS);
+        return Set.copyOf(properties);
+    }
+
+    /**
+     * Same view with the given field added, e.g. the sort key a cursor is built from.
+     */
+    public TaskView with(String field) {
+        if (includes(field)) {
+            return this;
+        }
+        Set<String> widened = new HashSet<>(fields);
+        widened.add(field);
+        return new TaskView(Set.copyOf(widened), comments);
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.demo.utils;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.jsonwebtoken.Claims;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bounded cache of already-verified JWT claims, keyed by the SHA-256 digest of the token.
+ * Each entry lives exactly as long as the token it was parsed from.
+ */
+@Component
+public class VerifiedClaimsCache {
+
+    private final Cache<String, Claims> cache;
+
+    public VerifiedClaimsCache(@Value("${jwt.claims-cache.max-size:10000}") long maxSize) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new TokenExpiry())
+                .build();
+    }
+
+    public Claims get(String token) {
+        return cache.getIfPresent(digest(token));
+    }
+
+    public void put(String token, Claims claims) {
+        // Tokens without an expiration would never leave the cache, so they are always re-verified
+        if (claims.getExpiration() != null) {
+            cache.put(digest(token), claims);
+        }
+    }
+
+    private static String digest(String token) {
+        return DigestUtils.sha256Hex(token);
+    }
+
+    private static class TokenExpiry implements Expiry<String, Claims> {
+
+        @Override
+        public long expireAfterCreate(String key, Claims claims, long currentTime) {
+            long remainingMillis = claims.getExpiration().getTime() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(0, remainingMillis));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(String key, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,11 @@
+-- Create refresh tokens table (only a SHA-256 hash of each opaque token is stored)
+CREATE TABLE refresh_tokens (
+    id SERIAL PRIMARY KEY,
+    token_hash VARCHAR(64) NOT NULL UNIQUE, -- Unique index backs the single lookup per refresh
+    user_id INT NOT NULL REFERENCES users(id),
+    expires_at TIMESTAMP NOT NULL,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Add index to clean up tokens per user
+CREATE INDEX idx_refresh_tokens_user_id ON refresh_tokens(user_id);
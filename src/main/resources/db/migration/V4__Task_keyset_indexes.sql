@@ -0,0 +1,3 @@
+-- Back the keyset orderings used by cursor pagination; (id) alone is covered by the primary key
+CREATE INDEX idx_tasks_title_id ON tasks(title, id);
+CREATE INDEX idx_tasks_assignee_id_id ON tasks(assignee_id, id);
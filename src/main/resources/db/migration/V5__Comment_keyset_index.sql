@@ -0,0 +1,5 @@
+-- Back keyset pagination of a task's comments on (created_at, id)
+CREATE INDEX idx_comments_task_id_created_at_id ON comments(task_id, created_at, id);
+
+-- The new index has task_id as its leading column, so the single-column one is redundant
+DROP INDEX idx_comments_task_id;
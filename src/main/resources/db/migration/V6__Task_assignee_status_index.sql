@@ -0,0 +1,2 @@
+-- Back GET /tasks/assigned filtered by status
+CREATE INDEX idx_tasks_assignee_id_status ON tasks(assignee_id, status);
@@ -0,0 +1,2 @@
+-- Back GET /tasks filtered by author; assignee filters are covered by the V4 and V6 indexes
+CREATE INDEX idx_tasks_author_id ON tasks(author_id);
@@ -0,0 +1,49 @@
+package com.example.demo;
+
+import com.example.demo.utils.AdaptiveBCryptPasswordEncoder;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AdaptiveBCryptPasswordEncoderTests {
+
+    @Test
+    void testUpgradeEncoding_OnlyBelowFloorOrMoreThanOneStepAway() {
+        AdaptiveBCryptPasswordEncoder encoder = new AdaptiveBCryptPasswordEncoder(6, 5);
+
+        // Assertions
+        assertFalse(encoder.upgradeEncoding(encoder.encode("password")));
+        assertFalse(encoder.upgradeEncoding(new BCryptPasswordEncoder(5).encode("password"))); // One step below
+        assertFalse(encoder.upgradeEncoding(new BCryptPasswordEncoder(7).encode("password"))); // One step above
+        assertTrue(encoder.upgradeEncoding(new BCryptPasswordEncoder(4).encode("password"))); // Below the floor
+        assertTrue(encoder.upgradeEncoding(new BCryptPasswordEncoder(8).encode("password"))); // Two steps above
+        assertFalse(encoder.upgradeEncoding("not-a-bcrypt-hash"));
+    }
+
+    @Test
+    void testUpgradeEncoding_NodesOneStepApartDoNotRewriteEachOther() {
+        AdaptiveBCryptPasswordEncoder nodeA = new AdaptiveBCryptPasswordEncoder(5, 4);
+        AdaptiveBCryptPasswordEncoder nodeB = new AdaptiveBCryptPasswordEncoder(6, 4);
+
+        assertFalse(nodeA.upgradeEncoding(nodeB.encode("password")));
+        assertFalse(nodeB.upgradeEncoding(nodeA.encode("password")));
+    }
+
+    @Test
+    void testMatches_HashesOfAnyCost() {
+        AdaptiveBCryptPasswordEncoder encoder = new AdaptiveBCryptPasswordEncoder(5);
+
+        assertTrue(encoder.matches("password", new BCryptPasswordEncoder(4).encode("password")));
+        assertFalse(encoder.matches("wrong", encoder.encode("password")));
+    }
+
+    @Test
+    void testCalibrate_StaysWithinBounds() {
+        AdaptiveBCryptPasswordEncoder encoder = AdaptiveBCryptPasswordEncoder.calibrate(Duration.ofMillis(1), 4, 6);
+
+        assertTrue(encoder.getStrength() >= 4 && encoder.getStrength() <= 6);
+    }
+}
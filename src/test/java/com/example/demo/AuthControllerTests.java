@@ -2,16 +2,26 @@ package com.example.demo;
 
 import com.example.demo.controllers.AuthController;
 import com.example.demo.dto.*;
+import com.example.demo.entities.Role;
 import com.example.demo.entities.User;
 import com.example.demo.exceptions.AuthenticationException;
 import com.example.demo.repositories.UserRepository;
+import com.example.demo.services.CustomUserDetails;
+import com.example.demo.services.PasswordHashingService;
+import com.example.demo.services.RefreshTokenService;
+import com.example.demo.services.TokenRevocationService;
 import com.example.demo.utils.JwtUtil;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.TestConfiguration;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.MediaType;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
@@ -22,15 +32,19 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 
+import java.sql.SQLException;
+import java.util.Date;
 import java.util.Optional;
 
 import static org.mockito.Mockito.*;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(AuthController.class)
 @AutoConfigureMockMvc(addFilters = false) // Disable Spring Security filters for testing
+@Import(PasswordHashingService.class) // Real bounded pool, login and register complete asynchronously
 public class AuthControllerTests {
 
     @Autowired
@@ -54,6 +68,12 @@ public class AuthControllerTests {
     @MockBean
     private com.example.demo.utils.JwtRequestFilter jwtRequestFilter;
 
+    @MockBean
+    private RefreshTokenService refreshTokenService;
+
+    @MockBean
+    private TokenRevocationService tokenRevocationService;
+
     @Test
     void testRegisterSuccess() throws Exception {
         // Mock data
@@ -61,17 +81,152 @@ public class AuthControllerTests {
         String password = "password";
 
         // Mock behavior
-        when(userRepository.findByEmail(email)).thenReturn(Optional.empty());
+        when(userRepository.saveAndFlush(any(User.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
         // Perform request
-        mockMvc.perform(post("/auth/register")
+        MvcResult result = mockMvc.perform(post("/auth/register")
                         .with(csrf()) // Add CSRF token
                         .contentType(MediaType.APPLICATION_JSON)
                         .content("{\"email\": \"" + email + "\", \"password\": \"" + password + "\"}"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
                 .andExpect(status().isOk())
                 .andExpect(content().string("User registered successfully!"));
     }
 
+    @Test
+    void testRegisterFailure_EmailAlreadyInUse() throws Exception {
+        // Mock behavior: the unique constraint on users.email rejects the insert
+        when(userRepository.saveAndFlush(any(User.class)))
+                .thenThrow(new DataIntegrityViolationException("duplicate key value violates unique constraint",
+                        new ConstraintViolationException("could not execute statement",
+                                new SQLException("duplicate key", "23505"), "users_email_key")));
+
+        // Perform request
+        MvcResult result = mockMvc.perform(post("/auth/register")
+                        .with(csrf()) // Add CSRF token
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"email\": \"taken@example.com\", \"password\": \"password\"}"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isConflict());
+        verify(userRepository, never()).findByEmail(anyString());
+    }
+
+    @Test
+    void testRegisterFailure_OtherIntegrityViolationIsNotAConflict() throws Exception {
+        // Mock behavior: a NOT NULL violation is not a duplicate email
+        when(userRepository.saveAndFlush(any(User.class)))
+                .thenThrow(new DataIntegrityViolationException("null value in column violates not-null constraint",
+                        new ConstraintViolationException("could not execute statement",
+                                new SQLException("null value", "23502"), null)));
+
+        // Perform request
+        MvcResult result = mockMvc.perform(post("/auth/register")
+                        .with(csrf()) // Add CSRF token
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"email\": \"new@example.com\", \"password\": \"password\"}"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isInternalServerError());
+    }
+
+    @Test
+    void testLoginSuccess_NoSecondUserLookup() throws Exception {
+        // Mock data
+        User user = new User();
+        user.setId(1L);
+        user.setEmail("test@example.com");
+        user.setRole(Role.ROLE_USER);
+        CustomUserDetails userDetails = new CustomUserDetails(user);
+
+        // Mock behavior
+        when(authManager.authenticate(any(UsernamePasswordAuthenticationToken.class)))
+                .thenReturn(new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities()));
+        when(refreshTokenService.issueTokens(user))
+                .thenReturn(new TokenResponseDTO("Bearer", "token", "refresh", 900));
+
+        // Perform request
+        MvcResult result = mockMvc.perform(post("/auth/login")
+                        .with(csrf()) // Add CSRF token
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"email\": \"test@example.com\", \"password\": \"password\"}"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.accessToken").value("token"))
+                .andExpect(jsonPath("$.refreshToken").value("refresh"));
+        verify(userRepository, never()).findByEmail(anyString());
+    }
+
+    @Test
+    void testRefreshSuccess() throws Exception {
+        // Mock behavior
+        when(refreshTokenService.refresh("refresh"))
+                .thenReturn(new TokenResponseDTO("Bearer", "new-token", "new-refresh", 900));
+
+        // Perform request
+        mockMvc.perform(post("/auth/refresh")
+                        .with(csrf()) // Add CSRF token
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"refreshToken\": \"refresh\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.accessToken").value("new-token"))
+                .andExpect(jsonPath("$.refreshToken").value("new-refresh"));
+    }
+
+    @Test
+    void testLogout_RevokesRefreshTokenOnlyForTokenOwner() throws Exception {
+        // Mock behavior
+        Claims claims = Jwts.claims()
+                .subject("test@example.com")
+                .id("jti")
+                .expiration(new Date(System.currentTimeMillis() + 60_000))
+                .add(JwtUtil.USER_ID_CLAIM, 7L)
+                .build();
+        when(jwtUtil.extractValidClaims("token")).thenReturn(claims);
+
+        // Perform request
+        mockMvc.perform(post("/auth/logout")
+                        .with(csrf()) // Add CSRF token
+                        .header("Authorization", "Bearer token")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"refreshToken\": \"refresh\"}"))
+                .andExpect(status().isOk());
+
+        // The refresh token is deleted only if it belongs to user 7
+        verify(refreshTokenService).revoke("refresh", 7L);
+        verify(tokenRevocationService).revoke(eq("jti"), any(Date.class));
+    }
+
+    @Test
+    void testLogout_TokenWithoutUserIdDoesNotRevokeRefreshToken() throws Exception {
+        // Mock behavior
+        Claims claims = Jwts.claims()
+                .subject("test@example.com")
+                .expiration(new Date(System.currentTimeMillis() + 60_000))
+                .build();
+        when(jwtUtil.extractValidClaims("token")).thenReturn(claims);
+
+        // Perform request
+        mockMvc.perform(post("/auth/logout")
+                        .with(csrf()) // Add CSRF token
+                        .header("Authorization", "Bearer token")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"refreshToken\": \"refresh\"}"))
+                .andExpect(status().isOk());
+
+        verify(refreshTokenService, never()).revoke(anyString(), anyLong());
+    }
+
     @Test
     void testLoginFailure() throws Exception {
         // Mock behavior
@@ -79,10 +234,14 @@ public class AuthControllerTests {
                 .thenThrow(new BadCredentialsException("Invalid credentials"));
 
         // Perform request
-        mockMvc.perform(post("/auth/login")
+        MvcResult result = mockMvc.perform(post("/auth/login")
                         .with(csrf()) // Add CSRF token
                         .contentType(MediaType.APPLICATION_JSON)
                         .content("{\"email\": \"test@example.com\", \"password\": \"wrongpassword\"}"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
                 .andExpect(status().isUnauthorized());
     }
 }
@@ -0,0 +1,44 @@
+package com.example.demo;
+
+import com.example.demo.utils.BloomFilter;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BloomFilterTests {
+
+    @Test
+    void testMightContain_NoFalseNegatives() {
+        BloomFilter filter = new BloomFilter(1000, 0.01);
+        String[] jtis = new String[1000];
+        for (int i = 0; i < jtis.length; i++) {
+            jtis[i] = UUID.randomUUID().toString();
+            filter.put(jtis[i]);
+        }
+
+        // Assertions
+        for (String jti : jtis) {
+            assertTrue(filter.mightContain(jti));
+        }
+    }
+
+    @Test
+    void testMightContain_FalsePositiveRateNearTarget() {
+        BloomFilter filter = new BloomFilter(1000, 0.01);
+        for (int i = 0; i < 1000; i++) {
+            filter.put(UUID.randomUUID().toString());
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < 10000; i++) {
+            if (filter.mightContain(UUID.randomUUID().toString())) {
+                falsePositives++;
+            }
+        }
+
+        // Generous bound around the configured 1% rate
+        assertTrue(falsePositives < 500, "False positives: " + falsePositives);
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.demo;
+
+import com.example.demo.entities.Role;
+import com.example.demo.entities.User;
+import com.example.demo.services.TokenPrincipal;
+import com.example.demo.utils.JwtUtil;
+import com.example.demo.utils.VerifiedClaimsCache;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class JwtUtilTests {
+
+    private final JwtUtil jwtUtil;
+
+    public JwtUtilTests() {
+        jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "claimsCache", new VerifiedClaimsCache(100));
+    }
+
+    @Test
+    void testExtractValidClaims_RepeatTokenServedFromCache() {
+        String token = jwtUtil.generateToken("user@example.com");
+
+        Claims first = jwtUtil.extractValidClaims(token);
+        Claims second = jwtUtil.extractValidClaims(token);
+
+        // Assertions
+        assertEquals("user@example.com", first.getSubject());
+        assertSame(first, second);
+        assertTrue(jwtUtil.isTokenValid(first, "user@example.com"));
+        assertFalse(jwtUtil.isTokenValid(first, "other@example.com"));
+    }
+
+    @Test
+    void testExtractValidClaims_Failure_TamperedToken() {
+        String token = jwtUtil.generateToken("user@example.com");
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BB" : "AA");
+
+        // Call the method and expect an exception
+        assertThrows(JwtException.class, () -> jwtUtil.extractValidClaims(tampered));
+    }
+
+    @Test
+    void testExtractPrincipal_FromUserToken() {
+        User user = new User();
+        user.setId(7L);
+        user.setEmail("user@example.com");
+        user.setRole(Role.ROLE_USER);
+
+        TokenPrincipal principal = jwtUtil.extractPrincipal(jwtUtil.extractValidClaims(jwtUtil.generateToken(user)));
+
+        // Assertions
+        assertEquals(new TokenPrincipal(7L, "user@example.com", Role.ROLE_USER), principal);
+    }
+
+    @Test
+    void testExtractPrincipal_LegacyTokenWithoutClaims() {
+        String token = jwtUtil.generateToken("user@example.com");
+
+        assertNull(jwtUtil.extractPrincipal(jwtUtil.extractValidClaims(token)));
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.demo;
+
+import com.example.demo.utils.RateLimiter;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RateLimiterTests {
+
+    private static final long SECOND = 1_000_000_000L;
+
+    @Test
+    void testTryAcquire_BurstThenReject() {
+        RateLimiter rateLimiter = new RateLimiter(4);
+        RateLimiter.Quota quota = new RateLimiter.Quota(3, 1);
+
+        // Assertions: the full capacity is available at once, the next request has to wait about a second
+        assertEquals(0, rateLimiter.tryAcquire("ip:1", quota, 0));
+        assertEquals(0, rateLimiter.tryAcquire("ip:1", quota, 0));
+        assertEquals(0, rateLimiter.tryAcquire("ip:1", quota, 0));
+        assertEquals(SECOND, rateLimiter.tryAcquire("ip:1", quota, 0));
+
+        // Other keys have their own bucket
+        assertEquals(0, rateLimiter.tryAcquire("ip:2", quota, 0));
+    }
+
+    @Test
+    void testTryAcquire_RefillsOverTime() {
+        RateLimiter rateLimiter = new RateLimiter(4);
+        RateLimiter.Quota quota = new RateLimiter.Quota(1, 2);
+
+        assertEquals(0, rateLimiter.tryAcquire("user:a", quota, 0));
+        assertTrue(rateLimiter.tryAcquire("user:a", quota, SECOND / 4) > 0);
+        assertEquals(0, rateLimiter.tryAcquire("user:a", quota, SECOND / 2));
+    }
+
+    @Test
+    void testEvictIdle_DropsOnlyFullBuckets() {
+        RateLimiter rateLimiter = new RateLimiter(4);
+        RateLimiter.Quota quota = new RateLimiter.Quota(1, 1);
+
+        rateLimiter.tryAcquire("idle", quota, 0);
+        rateLimiter.tryAcquire("busy", quota, 5 * SECOND);
+
+        rateLimiter.evictIdle(5 * SECOND);
+
+        assertEquals(1, rateLimiter.size());
+    }
+
+    @Test
+    void testQuota_RejectsInvalidRefillAndCapacity() {
+        assertThrows(IllegalArgumentException.class, () -> new RateLimiter.Quota(10, 0));
+        assertThrows(IllegalArgumentException.class, () -> new RateLimiter.Quota(10, -1));
+        assertThrows(IllegalArgumentException.class, () -> new RateLimiter.Quota(0, 1));
+        // One token per ~300 years: interval * capacity would overflow
+        assertThrows(IllegalArgumentException.class, () -> new RateLimiter.Quota(1000, 1e-10));
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.demo;
+
+import com.example.demo.config.ReplicaRoutingDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ReplicaRoutingDataSourceTests {
+
+    private JdbcTemplate jdbcTemplate;
+
+    private DataSourceTransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() {
+        // Two separate in-memory databases, each recording which one it is
+        DataSource primary = database("primary");
+        DataSource replica = database("replica");
+
+        DataSource dataSource = new LazyConnectionDataSourceProxy(new ReplicaRoutingDataSource(primary, replica));
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        transactionManager = new DataSourceTransactionManager(dataSource);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReplicaRoutingDataSource.markReplicaRead(false);
+    }
+
+    @Test
+    void testReplicaReadTransaction_RoutedToReplica() {
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        ReplicaRoutingDataSource.markReplicaRead(true);
+
+        assertEquals("replica", readOnly.execute(status -> whoAmI()));
+    }
+
+    @Test
+    void testUnmarkedReadOnlyTransaction_RoutedToPrimary() {
+        // e.g. a Spring Data read with its inherited read-only transaction
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        assertEquals("primary", readOnly.execute(status -> whoAmI()));
+    }
+
+    @Test
+    void testReadWriteTransaction_RoutedToPrimary() {
+        TransactionTemplate readWrite = new TransactionTemplate(transactionManager);
+
+        assertEquals("primary", readWrite.execute(status -> whoAmI()));
+    }
+
+    @Test
+    void testLookupInsideWritePath_StaysOnPrimary() {
+        TransactionTemplate readWrite = new TransactionTemplate(transactionManager);
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        // A write method looks a user up through a read-only repository call, which joins the write transaction
+        String lookup = readWrite.execute(status -> {
+            boolean previous = ReplicaRoutingDataSource.markReplicaRead(true);
+            try {
+                return readOnly.execute(inner -> whoAmI());
+            } finally {
+                ReplicaRoutingDataSource.markReplicaRead(previous);
+            }
+        });
+
+        assertEquals("primary", lookup);
+    }
+
+    @Test
+    void testNoTransaction_RoutedToPrimary() {
+        ReplicaRoutingDataSource.markReplicaRead(true);
+
+        assertEquals("primary", whoAmI());
+    }
+
+    private String whoAmI() {
+        return jdbcTemplate.queryForObject("SELECT name FROM node", String.class);
+    }
+
+    private static DataSource database(String name) {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:" + name + "-routing;DB_CLOSE_DELAY=-1");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("CREATE TABLE IF NOT EXISTS node (name VARCHAR(20))");
+        jdbc.execute("DELETE FROM node");
+        jdbc.update("INSERT INTO node (name) VALUES (?)", name);
+        return dataSource;
+    }
+}
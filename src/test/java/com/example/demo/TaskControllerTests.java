@@ -0,0 +1,79 @@
+package com.example.demo;
+
+import com.example.demo.controllers.TaskController;
+import com.example.demo.services.MyUserDetailsService;
+import com.example.demo.services.TaskQueryGovernor;
+import com.example.demo.services.TaskService;
+import com.example.demo.utils.JwtRequestFilter;
+import com.example.demo.utils.JwtUtil;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(TaskController.class)
+@AutoConfigureMockMvc(addFilters = false) // Disable Spring Security filters for testing
+@Import(TaskQueryGovernor.class)
+public class TaskControllerTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private TaskService taskService;
+
+    @MockBean
+    private JwtUtil jwtUtil;
+
+    @MockBean
+    private MyUserDetailsService myUserDetailsService;
+
+    @MockBean
+    private JwtRequestFilter jwtRequestFilter;
+
+    private static final QueryTimeoutException TIMEOUT = new QueryTimeoutException("canceling statement due to statement timeout");
+
+    @Test
+    void testGetAllTasks_QueryTimeoutAnswers503() throws Exception {
+        when(taskService.getAllTasks(any(), any(Pageable.class), any())).thenThrow(TIMEOUT);
+
+        mockMvc.perform(get("/tasks"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().exists(HttpHeaders.RETRY_AFTER));
+    }
+
+    @Test
+    void testGetAllTasksSlice_QueryTimeoutAnswers503() throws Exception {
+        when(taskService.getAllTasksSlice(any(), any(), any())).thenThrow(TIMEOUT);
+
+        mockMvc.perform(get("/tasks").param("withTotal", "false"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().exists(HttpHeaders.RETRY_AFTER));
+    }
+
+    @Test
+    void testGetAllTasksEstimated_QueryTimeoutAnswers503() throws Exception {
+        when(taskService.getAllTasksEstimated(any(), any(), any())).thenThrow(TIMEOUT);
+
+        mockMvc.perform(get("/tasks").param("estimatedTotal", "true"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().exists(HttpHeaders.RETRY_AFTER));
+    }
+
+    @Test
+    void testGetAllTasks_Failure_OversizedPageIs400() throws Exception {
+        mockMvc.perform(get("/tasks").param("size", "1000"))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.demo;
+
+import com.example.demo.dto.TaskResponseDTO;
+import com.example.demo.exceptions.InvalidRequestException;
+import com.example.demo.utils.TaskCursor;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TaskCursorTests {
+
+    @Test
+    void testEncodeDecode_RoundTripWithSeparatorInValue() {
+        TaskResponseDTO last = new TaskResponseDTO();
+        last.setId(42L);
+        last.setTitle("Fix | pipes");
+
+        TaskCursor cursor = TaskCursor.start(Sort.by(Sort.Direction.DESC, "title")).after(last);
+        TaskCursor decoded = TaskCursor.decode(cursor.encode());
+
+        // Assertions
+        assertEquals(cursor, decoded);
+        assertEquals(Sort.by(Sort.Direction.DESC, "title").and(Sort.by(Sort.Direction.DESC, "id")), decoded.toSort());
+    }
+
+    @Test
+    void testStart_DefaultsToIdAscending() {
+        TaskCursor cursor = TaskCursor.start(Sort.unsorted());
+
+        assertFalse(cursor.hasPosition());
+        assertEquals(Sort.by(Sort.Direction.ASC, "id"), cursor.toSort());
+    }
+
+    @Test
+    void testStart_Failure_UnsupportedSort() {
+        assertThrows(InvalidRequestException.class, () -> TaskCursor.start(Sort.by("description")));
+        assertThrows(InvalidRequestException.class, () -> TaskCursor.start(Sort.by("title", "id")));
+    }
+
+    @Test
+    void testDecode_Failure_Garbage() {
+        assertThrows(InvalidRequestException.class, () -> TaskCursor.decode("not-a-cursor!"));
+    }
+}
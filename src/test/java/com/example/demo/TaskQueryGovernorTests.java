@@ -0,0 +1,54 @@
+package com.example.demo;
+
+import com.example.demo.exceptions.InvalidRequestException;
+import com.example.demo.services.TaskQueryGovernor;
+import com.example.demo.utils.TaskView;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TaskQueryGovernorTests {
+
+    private final TaskQueryGovernor governor = new TaskQueryGovernor(100, 50, 10000, 200);
+
+    @Test
+    void testCheckPage_AllowsIndexedSortWithinLimits() {
+        assertDoesNotThrow(() -> governor.checkPage(PageRequest.of(3, 100, Sort.by("title", "id")), TaskView.SUMMARY));
+    }
+
+    @Test
+    void testCheckPage_Failure_OversizedPage() {
+        InvalidRequestException ex = assertThrows(InvalidRequestException.class,
+                () -> governor.checkPage(PageRequest.of(0, 100000), TaskView.SUMMARY));
+
+        // The message explains the limit
+        assertTrue(ex.getMessage().contains("100"));
+    }
+
+    @Test
+    void testCheckPage_Failure_UnindexedSort() {
+        InvalidRequestException ex = assertThrows(InvalidRequestException.class,
+                () -> governor.checkPage(PageRequest.of(0, 20, Sort.by("description")), TaskView.SUMMARY));
+
+        assertTrue(ex.getMessage().contains("description"));
+    }
+
+    @Test
+    void testCheckPage_Failure_DeepOffset() {
+        assertThrows(InvalidRequestException.class, () -> governor.checkPage(PageRequest.of(200, 100), TaskView.SUMMARY));
+    }
+
+    @Test
+    void testCheckSize_LowerLimitWithComments() {
+        assertDoesNotThrow(() -> governor.checkSize(80, TaskView.SUMMARY));
+        assertThrows(InvalidRequestException.class, () -> governor.checkSize(80, TaskView.FULL));
+    }
+
+    @Test
+    void testCheckBatchSize_Failure_TooManyIds() {
+        assertDoesNotThrow(() -> governor.checkBatchSize(200));
+        assertThrows(InvalidRequestException.class, () -> governor.checkBatchSize(201));
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.demo;
+
+import com.example.demo.dto.TaskResponseDTO;
+import com.example.demo.services.TaskResponseCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TaskResponseCacheTests {
+
+    private final TaskResponseCache cache =
+            new TaskResponseCache(DataSize.ofMegabytes(1), Duration.ofMinutes(1), new SimpleMeterRegistry());
+
+    @Test
+    void testGetAll_CachesLoadedResponses() {
+        Map<Long, TaskResponseDTO> loaded = cache.getAll(List.of(1L, 2L),
+                missing -> Map.of(1L, response(1L, "One"), 2L, response(2L, "Two")));
+
+        // Assertions
+        assertEquals("One", loaded.get(1L).getTitle());
+        assertEquals(2, cache.getAllPresent(List.of(1L, 2L)).size());
+    }
+
+    @Test
+    void testGetAll_InvalidationDuringLoadIsNotCached() {
+        Map<Long, TaskResponseDTO> loaded = cache.getAll(List.of(1L, 2L), missing -> {
+            // A write to task 1 commits while the rows are being read
+            cache.invalidate(1L);
+            return Map.of(1L, response(1L, "Stale"), 2L, response(2L, "Two"));
+        });
+
+        // The caller still gets its answer, but only the untouched task is kept
+        assertEquals("Stale", loaded.get(1L).getTitle());
+        assertEquals(Map.of(2L, loaded.get(2L)), cache.getAllPresent(List.of(1L, 2L)));
+    }
+
+    private static TaskResponseDTO response(Long id, String title) {
+        TaskResponseDTO dto = new TaskResponseDTO();
+        dto.setId(id);
+        dto.setTitle(title);
+        return dto;
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.demo;
+
+import com.example.demo.dto.TaskResponseDTO;
+import com.example.demo.entities.TaskPriority;
+import com.example.demo.entities.TaskStatus;
+import com.example.demo.repositories.TaskRow;
+import com.example.demo.utils.TaskMapper;
+import com.example.demo.utils.TaskView;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TaskResponseSerializerTests {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final TaskMapper taskMapper = new TaskMapper();
+
+    // An unassigned task without a description
+    private final TaskRow row = new TaskRow(1L, "Title", null, TaskStatus.PENDING, TaskPriority.LOW, "admin@example.com", null);
+
+    @Test
+    void testFullView_KeepsNullFields() throws Exception {
+        JsonNode json = serialize(taskMapper.mapToTaskResponseDTO(row, List.of(), TaskView.FULL));
+
+        // Assertions
+        assertTrue(json.has("assigneeEmail"));
+        assertTrue(json.get("assigneeEmail").isNull());
+        assertTrue(json.has("description"));
+        assertTrue(json.get("comments").isArray());
+        assertFalse(json.has("fields"));
+    }
+
+    @Test
+    void testSparseView_OmitsOnlyUnselectedFields() throws Exception {
+        JsonNode json = serialize(taskMapper.mapToTaskResponseDTO(row, null, TaskView.parse("title,assigneeEmail", null)));
+
+        // Assertions
+        assertEquals(List.of("id", "title", "assigneeEmail"), fieldNames(json));
+        assertTrue(json.get("assigneeEmail").isNull());
+    }
+
+    @Test
+    void testEntityResponse_WritesEveryProperty() throws Exception {
+        TaskResponseDTO dto = new TaskResponseDTO();
+        dto.setId(1L);
+
+        assertEquals(8, serialize(dto).size());
+    }
+
+    private JsonNode serialize(TaskResponseDTO dto) throws Exception {
+        return objectMapper.readTree(objectMapper.writeValueAsString(dto));
+    }
+
+    private static List<String> fieldNames(JsonNode json) {
+        List<String> names = new ArrayList<>();
+        json.fieldNames().forEachRemaining(names::add);
+        return names;
+    }
+}
@@ -1,20 +1,53 @@
 package com.example.demo;
 
 import com.example.demo.dto.CommentRequestDTO;
+import com.example.demo.dto.CommentResponseDTO;
+import com.example.demo.dto.CursorPageDTO;
+import com.example.demo.dto.SliceResponseDTO;
+import com.example.demo.dto.TaskBatchResponseDTO;
+import com.example.demo.dto.TaskFilterDTO;
 import com.example.demo.dto.TaskRequestDTO;
+import com.example.demo.dto.TaskResponseDTO;
 import com.example.demo.entities.*;
 import com.example.demo.exceptions.TaskNotFoundException;
 import com.example.demo.exceptions.UnauthorizedActionException;
 import com.example.demo.repositories.CommentRepository;
+import com.example.demo.repositories.CommentRow;
+import com.example.demo.repositories.TaskAccessRow;
 import com.example.demo.repositories.TaskRepository;
+import com.example.demo.repositories.TaskRow;
+import com.example.demo.repositories.TaskSearchHit;
 import com.example.demo.repositories.UserRepository;
+import com.example.demo.services.TaskCountEstimator;
+import com.example.demo.services.TaskResponseCache;
 import com.example.demo.services.TaskService;
+import com.example.demo.services.TaskTitleIndex;
+import com.example.demo.services.UserIdResolver;
+import com.example.demo.utils.CommentCursor;
+import com.example.demo.utils.DatabasePlatform;
+import com.example.demo.utils.SearchCursor;
+import com.example.demo.utils.TaskCursor;
 import com.example.demo.utils.TaskMapper;
+import com.example.demo.utils.TaskView;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.unit.DataSize;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -31,8 +64,24 @@ public class TaskServiceTests {
     @Mock
     private UserRepository userRepository;
 
+    @Spy
+    private TaskMapper taskMapper = new TaskMapper();
+
+    @Mock
+    private TaskCountEstimator taskCountEstimator;
+
+    @Mock
+    private DatabasePlatform databasePlatform;
+
     @Mock
-    private TaskMapper taskMapper;
+    private TaskTitleIndex taskTitleIndex;
+
+    @Mock
+    private UserIdResolver userIdResolver;
+
+    @Spy
+    private TaskResponseCache taskResponseCache =
+            new TaskResponseCache(DataSize.ofMegabytes(1), Duration.ofMinutes(1), new SimpleMeterRegistry());
 
     @InjectMocks
     private TaskService taskService;
@@ -48,7 +97,7 @@ public class TaskServiceTests {
         task.setId(1L);
         task.setStatus(TaskStatus.PENDING);
 
-        when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
+        when(taskRepository.findForMutationById(1L)).thenReturn(Optional.of(task));
         when(taskRepository.save(any(Task.class))).thenReturn(task);
 
         // Call the method
@@ -71,13 +120,42 @@ public class TaskServiceTests {
         task.setId(1L);
         task.setAssignee(new User()); // Different user
 
-        when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
+        when(taskRepository.findForMutationById(1L)).thenReturn(Optional.of(task));
 
         // Call the method and expect an exception
         assertThrows(UnauthorizedActionException.class, () ->
                 taskService.updateTaskStatus(1L, TaskStatus.COMPLETED, user, false));
     }
 
+    @Test
+    void testUpdateTaskStatus_Success_DetachedAssignee() {
+        // Assignee loaded from the database
+        User assignee = new User();
+        assignee.setId(1L);
+        assignee.setEmail("user@example.com");
+        assignee.setPassword("hash");
+        assignee.setRole(Role.ROLE_USER);
+
+        // Same user as resolved from token claims, without a password
+        User loggedInUser = new User();
+        loggedInUser.setId(1L);
+        loggedInUser.setEmail("user@example.com");
+        loggedInUser.setRole(Role.ROLE_USER);
+
+        Task task = new Task();
+        task.setId(1L);
+        task.setAssignee(assignee);
+
+        when(taskRepository.findForMutationById(1L)).thenReturn(Optional.of(task));
+        when(taskRepository.save(any(Task.class))).thenReturn(task);
+
+        // Call the method
+        Task updatedTask = taskService.updateTaskStatus(1L, TaskStatus.IN_PROGRESS, loggedInUser, false);
+
+        // Assertions
+        assertEquals(TaskStatus.IN_PROGRESS, updatedTask.getStatus());
+    }
+
     @Test
     void testAddCommentToTask_Success() {
         // Mock data
@@ -92,7 +170,7 @@ public class TaskServiceTests {
         CommentRequestDTO request = new CommentRequestDTO();
         request.setContent("This is a comment");
 
-        when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
+        when(taskRepository.findForMutationById(1L)).thenReturn(Optional.of(task));
         when(commentRepository.save(any(Comment.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
         // Call the method
@@ -116,4 +194,309 @@ public class TaskServiceTests {
         assertThrows(UnauthorizedActionException.class, () ->
                 taskService.addCommentToTask(1L, new CommentRequestDTO(), user));
     }
+
+    @Test
+    void testGetAllTasks_AssemblesRowsAndCommentsInPageOrder() {
+        // Mock data: rows and comments come back in a different order than the page ids
+        List<Long> ids = List.of(2L, 1L);
+        when(taskRepository.findTaskIds(any(Specification.class), any(Pageable.class))).thenReturn(ids);
+        when(taskRepository.findRowsByIdIn(ids)).thenReturn(List.of(
+                new TaskRow(1L, "First", "d1", TaskStatus.PENDING, TaskPriority.LOW, "admin@example.com", null),
+                new TaskRow(2L, "Second", "d2", TaskStatus.COMPLETED, TaskPriority.HIGH, "admin@example.com", "user@example.com")));
+        when(commentRepository.findRowsByTaskIdIn(ids)).thenReturn(List.of(
+                new CommentRow(10L, 2L, "Looks good", "user@example.com", LocalDateTime.now())));
+
+        // Call the method
+        Page<TaskResponseDTO> page = taskService.getAllTasks(new TaskFilterDTO(), PageRequest.of(0, 10), TaskView.FULL);
+
+        // Assertions: the short first page needs no count query
+        assertEquals(2, page.getTotalElements());
+        assertEquals("Second", page.getContent().get(0).getTitle());
+        assertEquals("Looks good", page.getContent().get(0).getComments().get(0).getContent());
+        assertEquals("First", page.getContent().get(1).getTitle());
+        assertTrue(page.getContent().get(1).getComments().isEmpty());
+        verify(taskRepository, never()).count(any(Specification.class));
+    }
+
+    @Test
+    void testGetTasksAssignedToUser_KeysetPageReturnsNextCursor() {
+        // Mock data
+        User user = new User();
+        user.setId(5L);
+        user.setRole(Role.ROLE_USER);
+
+        // Size 1 asks for two ids; the second one only signals that another page follows
+        when(taskRepository.findTaskIds(any(Specification.class), eq(PageRequest.of(0, 2, Sort.by("id")))))
+                .thenReturn(List.of(3L, 4L));
+        when(taskRepository.findRowsByIdIn(List.of(3L))).thenReturn(List.of(
+                new TaskRow(3L, "Third", null, TaskStatus.PENDING, TaskPriority.LOW, "admin@example.com", "user@example.com")));
+
+        // Call the method
+        CursorPageDTO<TaskResponseDTO> page = taskService.getTasksAssignedToUser(user, null, null, "", Sort.unsorted(), 1, TaskView.SUMMARY);
+
+        // Assertions
+        assertEquals(1, page.getContent().size());
+        TaskCursor next = TaskCursor.decode(page.getNextCursor());
+        assertEquals(3L, next.id());
+        verify(taskRepository, never()).count(any(Specification.class));
+    }
+
+    @Test
+    void testGetAllTasksSlice_ReadsOneExtraRowInsteadOfCounting() {
+        when(taskRepository.findTaskIds(any(Specification.class), eq(20L), eq(11), any(Sort.class)))
+                .thenReturn(List.of(21L, 22L, 23L, 24L, 25L, 26L, 27L, 28L, 29L, 30L, 31L));
+
+        // Call the method
+        SliceResponseDTO<TaskResponseDTO> slice = taskService.getAllTasksSlice(new TaskFilterDTO(), PageRequest.of(2, 10), TaskView.SUMMARY);
+
+        // Assertions: only the first ten ids are loaded, the eleventh just sets hasNext
+        assertTrue(slice.isHasNext());
+        verify(taskRepository).findRowsByIdIn(List.of(21L, 22L, 23L, 24L, 25L, 26L, 27L, 28L, 29L, 30L));
+        verify(taskRepository, never()).count(any(Specification.class));
+    }
+
+    @Test
+    void testGetAllTasksEstimated_UsesEstimatorKeyedByFilter() {
+        when(taskRepository.findTaskIds(any(Specification.class), any(Pageable.class))).thenReturn(List.of());
+        when(taskCountEstimator.estimate(eq("status=PENDING;"), any())).thenReturn(1234L);
+
+        // Call the method
+        Page<TaskResponseDTO> page = taskService.getAllTasksEstimated(new TaskFilterDTO(null, null, null, null, TaskStatus.PENDING, null), PageRequest.of(0, 10), TaskView.SUMMARY);
+
+        // Assertions
+        assertEquals(1234L, page.getTotalElements());
+        verify(taskRepository, never()).count(any(Specification.class));
+    }
+
+    @Test
+    void testGetAllTasks_UnknownAssigneeEmailSkipsRowQueries() {
+        when(userIdResolver.resolve("ghost@example.com")).thenReturn(Optional.empty());
+        when(taskRepository.findTaskIds(any(Specification.class), any(Pageable.class))).thenReturn(List.of());
+
+        // Call the method
+        TaskFilterDTO filter = new TaskFilterDTO();
+        filter.setAssigneeEmail("ghost@example.com");
+        Page<TaskResponseDTO> page = taskService.getAllTasks(filter, PageRequest.of(0, 10), TaskView.SUMMARY);
+
+        // Assertions: the email is resolved once and nothing is loaded for an empty page
+        assertTrue(page.getContent().isEmpty());
+        verify(userIdResolver).resolve("ghost@example.com");
+        verify(taskRepository, never()).findRowsByIdIn(any());
+    }
+
+    @Test
+    void testGetTasksAssignedToUser_SparseFieldsSkipCommentQuery() {
+        // Mock data
+        User user = new User();
+        user.setId(5L);
+        user.setRole(Role.ROLE_USER);
+
+        when(taskRepository.findTaskIds(any(Specification.class), any(Pageable.class))).thenReturn(List.of(3L));
+        when(taskRepository.findRowsByIdIn(List.of(3L))).thenReturn(List.of(
+                new TaskRow(3L, "Third", "Long description", TaskStatus.PENDING, TaskPriority.LOW, "admin@example.com", "user@example.com")));
+
+        // Call the method
+        List<TaskResponseDTO> tasks = taskService.getTasksAssignedToUser(user, TaskStatus.PENDING, null, PageRequest.of(0, 20),
+                TaskView.parse("title,status", null)).getContent();
+
+        // Assertions
+        assertEquals("Third", tasks.get(0).getTitle());
+        assertEquals("PENDING", tasks.get(0).getStatus());
+        assertNull(tasks.get(0).getDescription());
+        assertNull(tasks.get(0).getComments());
+        verify(commentRepository, never()).findRowsByTaskIdIn(any());
+    }
+
+    @Test
+    void testGetCommentsForTask_KeysetPageAfterCursor() {
+        // Mock data
+        User user = new User();
+        user.setId(5L);
+        user.setRole(Role.ROLE_USER);
+
+        LocalDateTime createdAt = LocalDateTime.of(2024, 1, 1, 12, 0);
+        String after = new CommentCursor(createdAt, 10L).encode();
+
+        when(taskRepository.findAccessRowById(1L)).thenReturn(Optional.of(new TaskAccessRow(1L, 5L)));
+        when(commentRepository.findRowsByTaskIdAfter(1L, createdAt, 10L, PageRequest.of(0, 2))).thenReturn(List.of(
+                new CommentRow(11L, 1L, "Second", "user@example.com", createdAt),
+                new CommentRow(12L, 1L, "Third", "user@example.com", createdAt.plusMinutes(1))));
+
+        // Call the method
+        CursorPageDTO<CommentResponseDTO> page = taskService.getCommentsForTask(1L, user, after, 1);
+
+        // Assertions: the task itself is never loaded
+        assertEquals(1, page.getContent().size());
+        assertEquals("Second", page.getContent().get(0).getContent());
+        assertEquals(new CommentCursor(createdAt, 11L), CommentCursor.decode(page.getNextCursor()));
+        verify(taskRepository, never()).findForMutationById(any());
+    }
+
+    @Test
+    void testGetCommentsForTask_Failure_NotAssignee() {
+        // Mock data
+        User user = new User();
+        user.setId(5L);
+        user.setRole(Role.ROLE_USER);
+
+        when(taskRepository.findAccessRowById(1L)).thenReturn(Optional.of(new TaskAccessRow(1L, 6L)));
+
+        // Call the method and expect an exception
+        assertThrows(UnauthorizedActionException.class, () -> taskService.getCommentsForTask(1L, user, "", 20));
+        verify(commentRepository, never()).findRowsByTaskId(any(), any());
+    }
+
+    @Test
+    void testSearchTasks_RankedOnPostgresKeepsRankOrder() {
+        when(databasePlatform.isPostgres()).thenReturn(true);
+        when(taskRepository.searchTaskIds("deploy", null, 2)).thenReturn(List.of(
+                new TaskSearchHit(7L, 0.9f), new TaskSearchHit(3L, 0.4f)));
+        when(taskRepository.findRowsByIdIn(List.of(7L))).thenReturn(List.of(
+                new TaskRow(7L, "Deploy", null, TaskStatus.PENDING, TaskPriority.HIGH, "admin@example.com", null)));
+
+        // Call the method
+        CursorPageDTO<TaskResponseDTO> page = taskService.searchTasks("deploy", null, 1, TaskView.SUMMARY);
+
+        // Assertions
+        assertEquals(7L, page.getContent().get(0).getId());
+        assertEquals(new TaskSearchHit(7L, 0.9f), SearchCursor.decode(page.getNextCursor()).last());
+    }
+
+    @Test
+    void testSearchTasks_FallsBackToLikeElsewhere() {
+        when(databasePlatform.isPostgres()).thenReturn(false);
+        when(taskRepository.findIdsMatching(eq("%deploy%"), eq(0L), any(Pageable.class))).thenReturn(List.of(4L));
+
+        // Call the method
+        CursorPageDTO<TaskResponseDTO> page = taskService.searchTasks("Deploy", null, 10, TaskView.SUMMARY);
+
+        // Assertions
+        assertNull(page.getNextCursor());
+        verify(taskRepository, never()).searchTaskIds(any(), any(), anyInt());
+        verify(taskRepository).findRowsByIdIn(List.of(4L));
+    }
+
+    @Test
+    void testSearchTasks_LikeFallbackResumesAfterLastIdWhateverTheSize() {
+        when(databasePlatform.isPostgres()).thenReturn(false);
+        // One extra id means another page follows
+        when(taskRepository.findIdsMatching(eq("%100\\%%"), eq(0L), any(Pageable.class))).thenReturn(List.of(4L, 9L, 12L));
+        when(taskRepository.findIdsMatching(eq("%100\\%%"), eq(9L), any(Pageable.class))).thenReturn(List.of(12L));
+
+        // First page of two, then a larger page resumes right after id 9
+        CursorPageDTO<TaskResponseDTO> first = taskService.searchTasks("100%", null, 2, TaskView.SUMMARY);
+        CursorPageDTO<TaskResponseDTO> second = taskService.searchTasks("100%", first.getNextCursor(), 5, TaskView.SUMMARY);
+
+        // Assertions
+        assertEquals(9L, SearchCursor.decode(first.getNextCursor()).lastId());
+        assertNull(second.getNextCursor());
+        verify(taskRepository).findRowsByIdIn(List.of(4L, 9L));
+        verify(taskRepository).findRowsByIdIn(List.of(12L));
+    }
+
+    @Test
+    void testGetTask_ServedFromCacheUntilTaskIsWritten() {
+        // Mock data
+        User author = new User();
+        author.setId(2L);
+        author.setEmail("admin@example.com");
+
+        Task task = new Task();
+        task.setId(1L);
+        task.setTitle("Cached");
+        task.setStatus(TaskStatus.PENDING);
+        task.setPriority(TaskPriority.LOW);
+        task.setAuthor(author);
+
+        when(taskRepository.findDetailById(1L)).thenReturn(Optional.of(task));
+        when(taskRepository.findForMutationById(1L)).thenReturn(Optional.of(task));
+        when(taskRepository.save(any(Task.class))).thenReturn(task);
+
+        // Two reads, one load
+        assertEquals("Cached", taskService.getTask(1L).getTitle());
+        assertSame(taskService.getTask(1L), taskService.getTask(1L));
+        verify(taskRepository, times(1)).findDetailById(1L);
+
+        // A write invalidates the entry, so the next read loads again
+        taskService.updateTaskPriority(1L, TaskPriority.HIGH);
+        assertEquals("HIGH", taskService.getTask(1L).getPriority());
+        verify(taskRepository, times(2)).findDetailById(1L);
+    }
+
+    @Test
+    void testDeleteTask_TitleIndexChangesOnlyAfterCommit() {
+        // Mock data
+        Task task = new Task();
+        task.setId(1L);
+        when(taskRepository.findForMutationById(1L)).thenReturn(Optional.of(task));
+
+        // Call the method inside a simulated transaction
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            taskService.deleteTask(1L);
+            verify(taskTitleIndex, never()).remove(anyLong());
+
+            // A rollback leaves the index alone
+            for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+                synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+            }
+            verify(taskTitleIndex, never()).remove(anyLong());
+
+            // A commit applies the change
+            for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+                synchronization.afterCommit();
+            }
+            verify(taskTitleIndex).remove(1L);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void testGetTask_Failure_NotFound() {
+        when(taskRepository.findDetailById(99L)).thenReturn(Optional.empty());
+
+        assertThrows(TaskNotFoundException.class, () -> taskService.getTask(99L));
+    }
+
+    @Test
+    void testGetTasks_SplitsMissingAndDeniedIds() {
+        // Mock data: task 1 is assigned to the user, task 2 to someone else, task 3 does not exist
+        User user = new User();
+        user.setId(5L);
+        user.setRole(Role.ROLE_USER);
+
+        when(taskRepository.findAccessRowsByIdIn(List.of(1L, 2L, 3L))).thenReturn(List.of(
+                new TaskAccessRow(1L, 5L), new TaskAccessRow(2L, 6L)));
+        when(taskRepository.findRowsByIdIn(List.of(1L))).thenReturn(List.of(
+                new TaskRow(1L, "Mine", null, TaskStatus.PENDING, TaskPriority.LOW, "admin@example.com", "user@example.com")));
+        when(commentRepository.findRowsByTaskIdIn(List.of(1L))).thenReturn(List.of());
+
+        // Call the method; the duplicate id is fetched once
+        TaskBatchResponseDTO batch = taskService.getTasks(List.of(1L, 2L, 3L, 1L), user);
+
+        // Assertions
+        assertEquals(1, batch.getTasks().size());
+        assertEquals("Mine", batch.getTasks().get(0).getTitle());
+        assertEquals(List.of(3L), batch.getMissingIds());
+        assertEquals(List.of(2L), batch.getDeniedIds());
+        verify(taskRepository, never()).findDetailById(any());
+    }
+
+    @Test
+    void testGetAllTasks_QueryTimeoutIsNotTurnedIntoBadRequest() {
+        // The statement timeout cancels the ids query in every offset mode
+        when(taskRepository.findTaskIds(any(Specification.class), any(Pageable.class)))
+                .thenThrow(new QueryTimeoutException("canceling statement due to statement timeout"));
+        when(taskRepository.findTaskIds(any(Specification.class), anyLong(), anyInt(), any(Sort.class)))
+                .thenThrow(new QueryTimeoutException("canceling statement due to statement timeout"));
+
+        // Assertions: the timeout reaches the exception handler instead of becoming a 400
+        assertThrows(QueryTimeoutException.class,
+                () -> taskService.getAllTasks(new TaskFilterDTO(), PageRequest.of(0, 10), TaskView.SUMMARY));
+        assertThrows(QueryTimeoutException.class,
+                () -> taskService.getAllTasksSlice(new TaskFilterDTO(), PageRequest.of(0, 10), TaskView.SUMMARY));
+        assertThrows(QueryTimeoutException.class,
+                () -> taskService.getAllTasksEstimated(new TaskFilterDTO(), PageRequest.of(0, 10), TaskView.SUMMARY));
+    }
 }
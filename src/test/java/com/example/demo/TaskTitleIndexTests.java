@@ -0,0 +1,66 @@
+package com.example.demo;
+
+import com.example.demo.dto.TaskSuggestionDTO;
+import com.example.demo.repositories.TaskRepository;
+import com.example.demo.repositories.TaskTitleRow;
+import com.example.demo.services.TaskTitleIndex;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class TaskTitleIndexTests {
+
+    private final TaskRepository taskRepository = mock(TaskRepository.class);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final TaskTitleIndex index;
+
+    public TaskTitleIndexTests() {
+        index = new TaskTitleIndex();
+        ReflectionTestUtils.setField(index, "taskRepository", taskRepository);
+        ReflectionTestUtils.setField(index, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.invokeMethod(index, "registerMetrics");
+
+        when(taskRepository.findAllTitleRows()).thenReturn(List.of(
+                new TaskTitleRow(1L, "Fix login bug"),
+                new TaskTitleRow(2L, "Write release notes"),
+                new TaskTitleRow(3L, "Fix flaky release pipeline")));
+        index.rebuild();
+    }
+
+    @Test
+    void testSuggest_MatchesWordPrefixes() {
+        assertEquals(List.of(1L, 3L), ids(index.suggest("fi", 10)));
+        assertEquals(List.of(2L, 3L), ids(index.suggest("relea", 10)));
+        assertEquals(List.of(3L), ids(index.suggest("fix rel", 10)));
+        assertTrue(index.suggest("ease", 10).isEmpty()); // Infix, not a word prefix
+    }
+
+    @Test
+    void testSuggest_RespectsLimit() {
+        assertEquals(List.of(1L), ids(index.suggest("f", 1)));
+    }
+
+    @Test
+    void testPutAndRemove_UpdateIndexIncrementally() {
+        index.put(2L, "Plan sprint");
+        index.put(4L, "Fix sprint board");
+        index.remove(1L);
+
+        // Assertions
+        assertTrue(index.suggest("write", 10).isEmpty());
+        assertEquals(List.of(2L, 4L), ids(index.suggest("spr", 10)));
+        assertEquals(List.of(3L, 4L), ids(index.suggest("fix", 10)));
+        assertTrue(meterRegistry.get("tasks.suggest.index.memory").gauge().value() > 0);
+    }
+
+    private static List<Long> ids(List<TaskSuggestionDTO> suggestions) {
+        return suggestions.stream().map(TaskSuggestionDTO::getId).toList();
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.demo;
+
+import com.example.demo.entities.Role;
+import com.example.demo.entities.User;
+import com.example.demo.repositories.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect") // Embedded H2 instead of PostgreSQL
+@Transactional(propagation = Propagation.NOT_SUPPORTED) // Call the repository outside a transaction, like login and AdminInitializer do
+public class UserRepositoryTests {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void testFindByEmail_OutsideTransaction() {
+        // Mock data
+        User user = new User();
+        user.setEmail("natural-id@example.com");
+        user.setPassword("hash");
+        user.setRole(Role.ROLE_USER);
+        userRepository.save(user);
+
+        Optional<User> found = userRepository.findByEmail("natural-id@example.com");
+
+        assertTrue(found.isPresent());
+        assertEquals(user.getId(), found.get().getId());
+        assertEquals(Role.ROLE_USER, found.get().getRole());
+    }
+
+    @Test
+    void testFindByEmail_UnknownEmailOutsideTransaction() {
+        assertTrue(userRepository.findByEmail("missing@example.com").isEmpty());
+    }
+}